@@ -0,0 +1,66 @@
+package com.manager.taskmanager.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Bounded, in-process Caffeine regions backing the Hibernate second-level and query caches.
+ * Every region is created up front, so Hibernate fails at startup instead of silently creating an unbounded one.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String TASKS_REGION = "tasks";
+    public static final String USERS_BY_USERNAME_REGION = "users-by-username";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${persistence.cache.users.max-size:10000}") long usersMaxSize,
+            @Value("${persistence.cache.users.ttl:10m}") Duration usersTtl,
+            @Value("${persistence.cache.tasks.max-size:100000}") long tasksMaxSize,
+            @Value("${persistence.cache.tasks.ttl:10m}") Duration tasksTtl,
+            @Value("${persistence.cache.queries.max-size:10000}") long queriesMaxSize,
+            @Value("${persistence.cache.queries.ttl:10m}") Duration queriesTtl) {
+        // A private URI per application context, so contexts sharing a class loader never share regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("taskmanager:hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(USERS_REGION, region(usersMaxSize, usersTtl));
+        cacheManager.createCache(TASKS_REGION, region(tasksMaxSize, tasksTtl));
+        cacheManager.createCache(USERS_BY_USERNAME_REGION, region(queriesMaxSize, queriesTtl));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(queriesMaxSize, queriesTtl));
+        // Holds one entry per table and must outlive every cached query result, so it is neither bounded nor expired
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
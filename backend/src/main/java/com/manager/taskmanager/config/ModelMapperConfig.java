@@ -1,13 +0,0 @@
-package com.manager.taskmanager.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class ModelMapperConfig {
-
-    @Bean
-    public org.modelmapper.ModelMapper modelMapper() {
-        return new org.modelmapper.ModelMapper();
-    }
-}
\ No newline at end of file
@@ -2,24 +2,31 @@ package com.manager.taskmanager.controller;
 
 import com.manager.taskmanager.dto.AuthResponseDTO;
 import com.manager.taskmanager.dto.LoginRequestDTO;
+import com.manager.taskmanager.dto.RefreshRequestDTO;
 import com.manager.taskmanager.dto.RegisterRequestDTO;
+import com.manager.taskmanager.exception.InvalidRefreshTokenException;
+import com.manager.taskmanager.exception.PasswordHashingBusyException;
 import com.manager.taskmanager.model.Role;
 import com.manager.taskmanager.model.User;
 import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.AuthenticatedUser;
 import com.manager.taskmanager.security.JwtUtil;
+import com.manager.taskmanager.service.RefreshTokenService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Locale;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -29,27 +36,15 @@ public class AuthController {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
 
+    /**
+     * A single insert; duplicates are caught by the unique constraints on username and email rather than by
+     * looking them up first, which would also race with concurrent registrations.
+     */
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequestDTO request) {
         try {
-            if (userRepository.findByUsername(request.getUsername()).isPresent()) {
-                return ResponseEntity
-                        .status(HttpStatus.BAD_REQUEST)
-                        .body(AuthResponseDTO.builder()
-                                .message("Username already exists!")
-                                .build());
-            }
-
-            if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-                return ResponseEntity
-                        .status(HttpStatus.BAD_REQUEST)
-                        .body(AuthResponseDTO.builder()
-                                .message("Email already exists!")
-                                .build());
-            }
-
             String encodedPassword = passwordEncoder.encode(request.getPassword());
 
             User user = User.builder()
@@ -59,18 +54,34 @@ public class AuthController {
                     .role(request.getRole() != null ? request.getRole() : Role.USER)
                     .build();
 
-            userRepository.save(user);
+            try {
+                user = userRepository.saveAndFlush(user);
+            } catch (DataIntegrityViolationException e) {
+                String duplicate = duplicateField(e);
+                if (duplicate == null) {
+                    throw e;
+                }
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .body(AuthResponseDTO.builder()
+                                .message(duplicate + " already exists!")
+                                .build());
+            }
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-            String token = jwtUtil.generateToken(userDetails, user.getRole().name());
+            String token = jwtUtil.generateToken(new AuthenticatedUser(
+                    user.getId(), user.getUsername(), user.getPassword(), user.getRole()));
 
             return ResponseEntity.ok(AuthResponseDTO.builder()
                     .token(token)
+                    .refreshToken(refreshTokenService.issue(user.getId()))
                     .username(user.getUsername())
                     .role(user.getRole().name())
                     .message("Registration successful!")
                     .build());
 
+        } catch (PasswordHashingBusyException e) {
+            // Answered with 503 and Retry-After by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -90,14 +101,13 @@ public class AuthController {
                     )
             );
 
-            User user = userRepository.findByUsername(request.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtUtil.generateToken(userDetails, user.getRole().name());
+            // Loaded by the authentication itself, with the id and role the token needs
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+            String token = jwtUtil.generateToken(user);
 
             return ResponseEntity.ok(AuthResponseDTO.builder()
                     .token(token)
+                    .refreshToken(refreshTokenService.issue(user.getId()))
                     .username(user.getUsername())
                     .role(user.getRole().name())
                     .message("Login successful!")
@@ -109,6 +119,8 @@ public class AuthController {
                     .body(AuthResponseDTO.builder()
                             .message("Invalid username or password!")
                             .build());
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -117,4 +129,51 @@ public class AuthController {
                             .build());
         }
     }
+
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token, without any password hashing.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequestDTO request) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+            AuthenticatedUser user = rotation.user();
+
+            return ResponseEntity.ok(AuthResponseDTO.builder()
+                    .token(jwtUtil.generateToken(user))
+                    .refreshToken(rotation.refreshToken())
+                    .username(user.getUsername())
+                    .role(user.getRole().name())
+                    .message("Token refreshed!")
+                    .build());
+
+        } catch (InvalidRefreshTokenException e) {
+            return ResponseEntity
+                    .status(HttpStatus.UNAUTHORIZED)
+                    .body(AuthResponseDTO.builder()
+                            .message("Invalid refresh token!")
+                            .build());
+        }
+    }
+
+    // Which unique constraint the insert violated, as named in the response; null for any other violation.
+    // Falls back to the column in PostgreSQL's detail ("Key (username)=...") for constraints named otherwise.
+    private static String duplicateField(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : "";
+        String message = e.getMostSpecificCause().getMessage();
+        constraint = constraint.toLowerCase(Locale.ROOT);
+        message = message == null ? "" : message.toLowerCase(Locale.ROOT);
+        if (constraint.contains(User.USERNAME_CONSTRAINT) || message.contains(User.USERNAME_CONSTRAINT)
+                || message.contains("key (username)=")) {
+            return "Username";
+        }
+        if (constraint.contains(User.EMAIL_CONSTRAINT) || message.contains(User.EMAIL_CONSTRAINT)
+                || message.contains("key (email)=")) {
+            return "Email";
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -1,20 +1,39 @@
 package com.manager.taskmanager.controller;
 
+import com.manager.taskmanager.dto.BulkResultDTO;
+import com.manager.taskmanager.dto.TaskBulkUpdateDTO;
+import com.manager.taskmanager.dto.TaskPageDTO;
 import com.manager.taskmanager.dto.TaskRequestDTO;
-import com.manager.taskmanager.dto.TaskResponseDTO;
-import com.manager.taskmanager.model.User;
-import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.security.AuthenticatedUser;
+import com.manager.taskmanager.service.EntityTags;
+import com.manager.taskmanager.service.TaskBulkService;
+import com.manager.taskmanager.service.TaskDataFormat;
+import com.manager.taskmanager.service.TaskEventBus;
+import com.manager.taskmanager.service.TaskExportService;
+import com.manager.taskmanager.service.TaskImportService;
 import com.manager.taskmanager.service.TaskService;
+import com.manager.taskmanager.service.TaskSyncService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api")
@@ -22,7 +41,11 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
-    private final UserRepository userRepository;
+    private final TaskBulkService taskBulkService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final TaskSyncService taskSyncService;
+    private final TaskEventBus taskEventBus;
 
     @PostMapping("/users/{userId}/tasks")
     public ResponseEntity<?> createTask(
@@ -39,15 +62,100 @@ public class TaskController {
         return new ResponseEntity<>(taskService.createTask(userId, dto), HttpStatus.CREATED);
     }
 
+    @PostMapping("/users/{userId}/tasks/bulk")
+    public ResponseEntity<?> createTasks(
+            @PathVariable Long userId,
+            @RequestBody List<TaskRequestDTO> dtos,
+            Authentication authentication) {
+
+        if (!isAuthorized(userId, authentication)) {
+            return ResponseEntity
+                    .status(HttpStatus.FORBIDDEN)
+                    .body("You can only create tasks for yourself!");
+        }
+
+        return ResponseEntity.ok(taskBulkService.createTasks(userId, dtos));
+    }
+
+    @PostMapping(value = "/users/{userId}/tasks/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<?> importTasks(
+            @PathVariable Long userId,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+
+        if (!isAuthorized(userId, authentication)) {
+            return ResponseEntity
+                    .status(HttpStatus.FORBIDDEN)
+                    .body("You can only create tasks for yourself!");
+        }
+
+        TaskDataFormat format = TaskDataFormat.fromContentType(request.getContentType());
+        return ResponseEntity.ok(taskImportService.importTasks(userId, format, request.getInputStream()));
+    }
+
+    @PutMapping("/tasks/bulk")
+    public ResponseEntity<BulkResultDTO> updateTasks(
+            @RequestBody List<TaskBulkUpdateDTO> items,
+            Authentication authentication) {
+        return ResponseEntity.ok(taskBulkService.updateTasks(ownerScope(authentication), items));
+    }
+
+    @DeleteMapping("/tasks/bulk")
+    public ResponseEntity<BulkResultDTO> deleteTasks(
+            @RequestBody List<Long> ids,
+            Authentication authentication) {
+        return ResponseEntity.ok(taskBulkService.deleteTasks(ownerScope(authentication), ids));
+    }
+
     @GetMapping("/tasks")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<TaskResponseDTO>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<TaskPageDTO> getAllTasks(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.getAllTasks(status, cursor, limit));
+    }
+
+    @GetMapping("/tasks/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(name = "format", defaultValue = "ndjson") String formatParameter,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Long userId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        TaskDataFormat format = TaskDataFormat.fromParameter(formatParameter);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(out, 8192)) {
+                    taskExportService.export(userId, status, format, compressed);
+                }
+            } else {
+                taskExportService.export(userId, status, format, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + format.getFileExtension())
+                        .build()
+                        .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @GetMapping("/users/{userId}/tasks")
     public ResponseEntity<?> getTasksByUser(
             @PathVariable Long userId,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request,
             Authentication authentication) {
 
         if (!isAuthorized(userId, authentication)) {
@@ -56,41 +164,79 @@ public class TaskController {
                     .body("You can only view your own tasks!");
         }
 
-        return ResponseEntity.ok(taskService.getTasksByUser(userId));
+        String etag = taskService.getTaskListingETag(userId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(taskService.getTasksByUser(userId, status, cursor, limit));
     }
 
-    @GetMapping("/tasks/{id}")
-    public ResponseEntity<?> getTaskById(
-            @PathVariable Long id,
+    @GetMapping("/users/{userId}/tasks/changes")
+    public ResponseEntity<?> getTaskChanges(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit,
             Authentication authentication) {
 
-        Long taskUserId = taskService.getTaskOwnerId(id);
-
-        if (!isAuthorized(taskUserId, authentication)) {
+        if (!isAuthorized(userId, authentication)) {
             return ResponseEntity
                     .status(HttpStatus.FORBIDDEN)
                     .body("You can only view your own tasks!");
         }
 
-        TaskResponseDTO task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok(taskSyncService.getChanges(userId, since, limit));
+    }
+
+    // The streaming body is only recognized through the declared body type, so a refusal cannot carry a message
+    @GetMapping(value = "/users/{userId}/tasks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTaskEvents(
+            @PathVariable Long userId,
+            Authentication authentication) {
+
+        if (!isAuthorized(userId, authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noStore())
+                // Stops nginx from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(out -> taskEventBus.stream(userId, out));
+    }
+
+    @GetMapping("/tasks/{id}")
+    public ResponseEntity<?> getTaskById(
+            @PathVariable Long id,
+            WebRequest request,
+            Authentication authentication) {
+
+        Long ownerId = ownerScope(authentication);
+        // Only revalidations pay for the lookup that answers 304 without mapping the task
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> etag = taskService.findTaskETag(id, ownerId);
+            if (etag.isPresent() && request.checkNotModified(etag.get())) {
+                return null;
+            }
+        }
+
+        return taskService.findTaskById(id, ownerId)
+                .<ResponseEntity<?>>map(task -> ResponseEntity.ok().eTag(EntityTags.ofTask(task)).body(task))
+                .orElseGet(() -> forbiddenOrNotFound(id, "You can only view your own tasks!"));
     }
 
     @PutMapping("/tasks/{id}")
     public ResponseEntity<?> updateTask(
             @PathVariable Long id,
             @Valid @RequestBody TaskRequestDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
 
-        Long taskUserId = taskService.getTaskOwnerId(id);
-
-        if (!isAuthorized(taskUserId, authentication)) {
-            return ResponseEntity
-                    .status(HttpStatus.FORBIDDEN)
-                    .body("You can only update your own tasks!");
-        }
-
-        return ResponseEntity.ok(taskService.updateTask(id, dto));
+        return taskService.updateTask(id, ownerScope(authentication), dto, ifMatch)
+                .<ResponseEntity<?>>map(task -> ResponseEntity.ok().eTag(EntityTags.ofTask(task)).body(task))
+                .orElseGet(() -> forbiddenOrNotFound(id, "You can only update your own tasks!"));
     }
 
     @DeleteMapping("/tasks/{id}")
@@ -98,27 +244,41 @@ public class TaskController {
             @PathVariable Long id,
             Authentication authentication) {
 
-        Long taskUserId = taskService.getTaskOwnerId(id);
-
-        if (!isAuthorized(taskUserId, authentication)) {
-            return ResponseEntity
-                    .status(HttpStatus.FORBIDDEN)
-                    .body("You can only delete your own tasks!");
+        if (!taskService.deleteTask(id, ownerScope(authentication))) {
+            return forbiddenOrNotFound(id, "You can only delete your own tasks!");
         }
-
-        taskService.deleteTask(id);
         return ResponseEntity.noContent().build();
     }
 
     private boolean isAuthorized(Long resourceUserId, Authentication authentication) {
-        if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
+        if (isAdmin(authentication)) {
             return true;
         }
 
-        String currentUsername = authentication.getName();
-        User currentUser = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return authentication.getPrincipal() instanceof AuthenticatedUser currentUser
+                && currentUser.getId().equals(resourceUserId);
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
+    }
+
+    // Admins are not restricted to their own tasks
+    private Long ownerScope(Authentication authentication) {
+        if (isAdmin(authentication)) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser currentUser) {
+            return currentUser.getId();
+        }
+        throw new IllegalStateException("Unsupported principal: " + authentication.getName());
+    }
 
-        return currentUser.getId().equals(resourceUserId);
+    // Only reached when the owner-scoped operation matched nothing; throws TaskNotFoundException for missing tasks
+    private ResponseEntity<?> forbiddenOrNotFound(Long taskId, String message) {
+        taskService.getTaskOwnerId(taskId);
+        return ResponseEntity
+                .status(HttpStatus.FORBIDDEN)
+                .body(message);
     }
-}
\ No newline at end of file
+}
@@ -2,17 +2,19 @@ package com.manager.taskmanager.controller;
 
 import com.manager.taskmanager.dto.UserRequestDTO;
 import com.manager.taskmanager.dto.UserResponseDTO;
-import com.manager.taskmanager.model.User;
-import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.AuthenticatedUser;
+import com.manager.taskmanager.service.EntityTags;
 import com.manager.taskmanager.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,7 +24,6 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
-    private final UserRepository userRepository;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -37,19 +38,25 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getUserById(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<?> getUserById(@PathVariable Long id, WebRequest request, Authentication authentication) {
         if (!isAuthorizedToAccessUser(id, authentication)) {
             return ResponseEntity
                     .status(HttpStatus.FORBIDDEN)
                     .body("You can only view your own profile!");
         }
-        return ResponseEntity.ok(userService.getUserById(id));
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(userService.getUserETag(id))) {
+            return null;
+        }
+
+        UserResponseDTO user = userService.getUserById(id);
+        return ResponseEntity.ok().eTag(EntityTags.ofUser(user)).body(user);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UserRequestDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
 
         if (!isAuthorizedToAccessUser(id, authentication)) {
@@ -58,7 +65,8 @@ public class UserController {
                     .body("You can only update your own profile!");
         }
 
-        return ResponseEntity.ok(userService.updateUser(id, dto));
+        UserResponseDTO user = userService.updateUser(id, dto, ifMatch);
+        return ResponseEntity.ok().eTag(EntityTags.ofUser(user)).body(user);
     }
 
     @DeleteMapping("/{id}")
@@ -75,10 +83,7 @@ public class UserController {
         }
 
         // Regular users can only access their own profile
-        String currentUsername = authentication.getName();
-        User currentUser = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return currentUser.getId().equals(userId);
+        return authentication.getPrincipal() instanceof AuthenticatedUser currentUser
+                && currentUser.getId().equals(userId);
     }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 public class AuthResponseDTO {
 
     private String token;
+    private String refreshToken;
     private String username;
     private String role;
     private String message;
@@ -0,0 +1,23 @@
+package com.manager.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * Outcome of one item of a bulk request. {@code status} uses the code the single-item endpoint would have
+ * answered with, e.g. 201, 200, 204, 400, 403 or 404.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResultDTO {
+
+    // Position of the item in the request array
+    private int index;
+    private Long id;
+    private int status;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.manager.taskmanager.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkResultDTO {
+
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResultDTO> results;
+}
@@ -0,0 +1,20 @@
+package com.manager.taskmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBulkUpdateDTO {
+
+    @NotNull(message = "Task id is required")
+    private Long id;
+
+    @NotNull(message = "Patch is required")
+    @Valid
+    private TaskRequestDTO patch;
+}
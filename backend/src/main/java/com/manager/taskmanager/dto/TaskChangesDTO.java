@@ -0,0 +1,25 @@
+package com.manager.taskmanager.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskChangesDTO {
+
+    // Created or updated tasks, to be applied before the deletions
+    private List<TaskResponseDTO> changed;
+
+    // Ids of deleted tasks
+    private List<Long> deleted;
+
+    // Opaque position to pass as "since" on the next call
+    private String watermark;
+
+    // True if more changes are waiting; call again right away with the new watermark
+    private boolean hasMore;
+}
@@ -0,0 +1,16 @@
+package com.manager.taskmanager.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskEventDTO {
+
+    private Long taskId;
+
+    // Only present when the writer had it mapped; otherwise fetch the task or delta-sync
+    private TaskResponseDTO task;
+}
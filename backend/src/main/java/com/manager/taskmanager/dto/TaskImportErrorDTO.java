@@ -0,0 +1,15 @@
+package com.manager.taskmanager.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportErrorDTO {
+
+    // 1-based position of the record in the body, not counting a CSV header
+    private long record;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.manager.taskmanager.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportResultDTO {
+
+    private long accepted;
+    private long rejected;
+
+    // Only the first errors are kept, rejected holds the full count
+    private List<TaskImportErrorDTO> errors;
+}
@@ -0,0 +1,18 @@
+package com.manager.taskmanager.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskPageDTO {
+
+    private List<TaskResponseDTO> items;
+
+    // Opaque cursor for the following page, null on the last page
+    private String next;
+}
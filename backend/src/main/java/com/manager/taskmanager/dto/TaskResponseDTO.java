@@ -19,4 +19,5 @@ public class TaskResponseDTO {
     private UserResponseDTO user;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.manager.taskmanager.exception;
+
+public class SyncWatermarkExpiredException extends RuntimeException {
+
+    public SyncWatermarkExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,33 @@
+package com.manager.taskmanager.mapper;
+
+import com.manager.taskmanager.dto.TaskRequestDTO;
+import com.manager.taskmanager.dto.TaskResponseDTO;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.repository.TaskRow;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(config = MappingConfig.class, uses = UserMapper.class)
+public interface TaskMapper {
+
+    TaskResponseDTO toResponse(Task task);
+
+    @Mapping(target = "user.id", source = "userId")
+    @Mapping(target = "user.username", source = "username")
+    @Mapping(target = "user.email", source = "email")
+    @Mapping(target = "user.createdAt", source = "userCreatedAt")
+    @Mapping(target = "user.updatedAt", source = "userUpdatedAt")
+    @Mapping(target = "user.version", source = "userVersion")
+    TaskResponseDTO toResponse(TaskRow row);
+
+    List<TaskResponseDTO> toResponses(List<TaskRow> rows);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Task toEntity(TaskRequestDTO dto);
+}
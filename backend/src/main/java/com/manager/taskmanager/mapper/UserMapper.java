@@ -0,0 +1,22 @@
+package com.manager.taskmanager.mapper;
+
+import com.manager.taskmanager.dto.UserRequestDTO;
+import com.manager.taskmanager.dto.UserResponseDTO;
+import com.manager.taskmanager.model.User;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface UserMapper {
+
+    UserResponseDTO toResponse(User user);
+
+    // The password is encoded by the caller, the raw value never reaches the entity
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "tasks", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    User toEntity(UserRequestDTO dto);
+}
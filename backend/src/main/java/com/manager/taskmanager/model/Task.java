@@ -2,10 +2,23 @@ package com.manager.taskmanager.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_user_created_at_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_tasks_user_updated_at_id", columnList = "user_id, updated_at, id"),
+        @Index(name = "idx_tasks_user_status_created_at_id", columnList = "user_id, status, created_at, id"),
+        @Index(name = "idx_tasks_status_created_at_id", columnList = "status, created_at, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,7 +27,9 @@ import java.time.LocalDateTime;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "tasks_seq")
+    @GenericGenerator(name = "tasks_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "tasks_seq"))
     private Long id;
 
     @Column(nullable = false)
@@ -33,7 +48,12 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    // Checked and incremented by every update, so concurrent writers cannot overwrite each other
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
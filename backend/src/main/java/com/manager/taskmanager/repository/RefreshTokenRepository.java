@@ -0,0 +1,33 @@
+package com.manager.taskmanager.repository;
+
+import com.manager.taskmanager.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * Claims the token for exactly one rotation; returns 0 if it has already been used, by a replay or by a
+     * concurrent refresh with the same token.
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :usedAt where r.tokenHash = :tokenHash and r.usedAt is null")
+    int markUsed(@Param("tokenHash") String tokenHash, @Param("usedAt") LocalDateTime usedAt);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.familyId = :familyId")
+    int deleteAllByFamilyId(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :before")
+    int deleteAllExpiredBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,8 @@
+package com.manager.taskmanager.repository;
+
+public interface TaskOwnership {
+
+    Long getId();
+
+    Long getOwnerId();
+}
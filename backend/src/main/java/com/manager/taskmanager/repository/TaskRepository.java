@@ -1,13 +1,24 @@
 package com.manager.taskmanager.repository;
 
 import com.manager.taskmanager.model.Task;
-import com.manager.taskmanager.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
-    List<Task> findByStatus(com.manager.taskmanager.model.Status status);
-    List<Task> findByUser(User user);
+    @Query("select t.user.id from Task t where t.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Query("select t.id as id, t.user.id as ownerId from Task t where t.id in :ids")
+    List<TaskOwnership> findOwnershipByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
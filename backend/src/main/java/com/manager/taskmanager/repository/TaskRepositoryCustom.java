@@ -0,0 +1,28 @@
+package com.manager.taskmanager.repository;
+
+import com.manager.taskmanager.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Keyset page ordered by (createdAt, id). Only tasks strictly after the given position are returned;
+     * a null position starts from the beginning. A null user or status means no filter on that column.
+     */
+    List<TaskRow> findPage(Long userId, Status status, LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    /**
+     * The user's tasks ordered by (updatedAt, id), strictly after the given position; a null position starts
+     * from the beginning.
+     */
+    List<TaskRow> findChanges(Long userId, LocalDateTime afterUpdatedAt, Long afterId, int limit);
+
+    /**
+     * Forward-only cursor over all matching rows in (createdAt, id) order, fetched {@code fetchSize} rows per
+     * round trip. Must be consumed and closed inside a transaction.
+     */
+    Stream<TaskRow> streamRows(Long userId, Status status, int fetchSize);
+}
@@ -0,0 +1,80 @@
+package com.manager.taskmanager.repository;
+
+import com.manager.taskmanager.model.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private static final String SELECT_ROW = "select new com.manager.taskmanager.repository.TaskRow("
+            + "t.id, t.title, t.description, t.status, t.createdAt, t.updatedAt, t.version, "
+            + "u.id, u.username, u.email, u.createdAt, u.updatedAt, u.version) "
+            + "from Task t join t.user u";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskRow> findPage(Long userId, Status status, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        return createRowQuery(userId, status, afterCreatedAt, afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<TaskRow> findChanges(Long userId, LocalDateTime afterUpdatedAt, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(SELECT_ROW).append(" where u.id = :userId");
+        if (afterUpdatedAt != null) {
+            jpql.append(" and (t.updatedAt > :afterUpdatedAt or (t.updatedAt = :afterUpdatedAt and t.id > :afterId))");
+        }
+        jpql.append(" order by t.updatedAt, t.id");
+
+        TypedQuery<TaskRow> query = entityManager.createQuery(jpql.toString(), TaskRow.class)
+                .setParameter("userId", userId);
+        if (afterUpdatedAt != null) {
+            query.setParameter("afterUpdatedAt", afterUpdatedAt);
+            query.setParameter("afterId", afterId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<TaskRow> streamRows(Long userId, Status status, int fetchSize) {
+        return createRowQuery(userId, status, null, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private TypedQuery<TaskRow> createRowQuery(Long userId, Status status, LocalDateTime afterCreatedAt, Long afterId) {
+        StringBuilder jpql = new StringBuilder(SELECT_ROW).append(" where 1 = 1");
+        if (userId != null) {
+            jpql.append(" and u.id = :userId");
+        }
+        if (status != null) {
+            jpql.append(" and t.status = :status");
+        }
+        if (afterCreatedAt != null) {
+            jpql.append(" and (t.createdAt > :afterCreatedAt or (t.createdAt = :afterCreatedAt and t.id > :afterId))");
+        }
+        jpql.append(" order by t.createdAt, t.id");
+
+        TypedQuery<TaskRow> query = entityManager.createQuery(jpql.toString(), TaskRow.class);
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (afterCreatedAt != null) {
+            query.setParameter("afterCreatedAt", afterCreatedAt);
+            query.setParameter("afterId", afterId);
+        }
+        return query;
+    }
+}
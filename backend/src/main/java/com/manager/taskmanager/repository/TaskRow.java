@@ -0,0 +1,26 @@
+package com.manager.taskmanager.repository;
+
+import com.manager.taskmanager.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only listing row holding just the columns a task response needs, including its owner's public fields.
+ * Built by a JPQL constructor expression, so it is never attached to the persistence context.
+ */
+public record TaskRow(
+        Long id,
+        String title,
+        String description,
+        Status status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version,
+        Long userId,
+        String username,
+        String email,
+        LocalDateTime userCreatedAt,
+        LocalDateTime userUpdatedAt,
+        Long userVersion
+) {
+}
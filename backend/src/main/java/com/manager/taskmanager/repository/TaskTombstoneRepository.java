@@ -0,0 +1,43 @@
+package com.manager.taskmanager.repository;
+
+import com.manager.taskmanager.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    /**
+     * Copies the owner of each task into a tombstone with a single statement; must run before the tasks are deleted.
+     */
+    @Modifying
+    @Query("insert into TaskTombstone (taskId, userId, deletedAt) "
+            + "select t.id, t.user.id, :deletedAt from Task t where t.id in :taskIds")
+    int recordDeletions(@Param("taskIds") Collection<Long> taskIds, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Keyset page ordered by (deletedAt, taskId), strictly after the given position.
+     */
+    @Query("select t from TaskTombstone t where t.userId = :userId "
+            + "and (t.deletedAt > :afterDeletedAt or (t.deletedAt = :afterDeletedAt and t.taskId > :afterTaskId)) "
+            + "order by t.deletedAt, t.taskId")
+    List<TaskTombstone> findPage(
+            @Param("userId") Long userId,
+            @Param("afterDeletedAt") LocalDateTime afterDeletedAt,
+            @Param("afterTaskId") Long afterTaskId,
+            Limit limit);
+
+    @Modifying
+    @Query("delete from TaskTombstone t where t.deletedAt < :before")
+    int deleteAllDeletedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("delete from TaskTombstone t where t.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
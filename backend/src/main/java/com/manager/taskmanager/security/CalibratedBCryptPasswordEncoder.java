@@ -0,0 +1,84 @@
+package com.manager.taskmanager.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt at a fixed or calibrated strength that flags stored hashes of a lower strength for rehashing, so a raised
+ * cost is rolled out to users as they log in. Stronger hashes are kept: a calibration skewed by a slow start must
+ * not weaken stored passwords, nor bump every user's version on login.
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder implements PasswordEncoder {
+
+    static final int MIN_STRENGTH = 4;
+    static final int MAX_STRENGTH = 31;
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        if (strength < MIN_STRENGTH || strength > MAX_STRENGTH) {
+            throw new IllegalArgumentException("BCrypt strength must be between 4 and 31: " + strength);
+        }
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Picks the highest strength within the bounds whose hash still fits the target time on this machine.
+     * Each step doubles the work, so only the lowest strength is measured and the rest is extrapolated.
+     */
+    public static CalibratedBCryptPasswordEncoder calibrated(Duration targetTime, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        long fastest = Long.MAX_VALUE;
+        // The first rounds also warm up the JIT; the fastest one is the least disturbed
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        long estimate = fastest;
+        while (strength < maxStrength && estimate * 2 <= targetTime.toNanos()) {
+            estimate *= 2;
+            strength++;
+        }
+        log.info("Calibrated BCrypt strength {} at about {} ms per hash (target {} ms)",
+                strength, Duration.ofNanos(estimate).toMillis(), targetTime.toMillis());
+        return new CalibratedBCryptPasswordEncoder(strength);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher cost = BCRYPT_COST.matcher(encodedPassword);
+        // Anything that is not BCrypt cannot have matched in the first place
+        return cost.find() && Integer.parseInt(cost.group(1)) < strength;
+    }
+}
@@ -1,38 +1,55 @@
 package com.manager.taskmanager.security;
 
+import com.manager.taskmanager.model.Role;
 import com.manager.taskmanager.model.User;
 import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.service.TaskListingCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collection;
-import java.util.Collections;
-
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final TaskListingCache taskListingCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthenticatedUser(
+                user.getId(),
                 user.getUsername(),
                 user.getPassword(),
-                getAuthorities(user)
+                user.getRole() != null ? user.getRole() : Role.USER
         );
     }
 
-    private Collection<? extends GrantedAuthority> getAuthorities(User user) {
-        String role = user.getRole() != null ? user.getRole().name() : "USER";
-        return Collections.singleton(new SimpleGrantedAuthority("ROLE_" + role));
+    /**
+     * Stores the rehash of a password that was just verified at an outdated strength. The password itself is
+     * unchanged, so issued tokens stay valid.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        AuthenticatedUser principal = (AuthenticatedUser) userDetails;
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + principal.getUsername()));
+        user.setPassword(newPassword);
+        try {
+            userRepository.save(user);
+        } catch (OptimisticLockingFailureException e) {
+            // A concurrent login or update got there first; the login itself has already succeeded
+            return principal;
+        }
+        // The version bump changes the owner embedded in listed tasks
+        taskListingCache.evictAfterCommit(principal.getId());
+        return new AuthenticatedUser(principal.getId(), principal.getUsername(), newPassword, principal.getRole());
     }
-}
\ No newline at end of file
+}
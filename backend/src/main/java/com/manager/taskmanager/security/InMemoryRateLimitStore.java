@@ -0,0 +1,59 @@
+package com.manager.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Token buckets in a bounded Caffeine map. Each bucket is updated inside {@code compute}, which locks only the
+ * key's bin of the underlying hash table, so concurrent attempts on different keys do not contend.
+ * <p>
+ * Buckets idle for longer than {@code idleTimeout} are dropped; as long as that is no shorter than the longest
+ * limit period they would have been full again anyway. Past {@code maxKeys} the least recently used buckets are
+ * dropped early, which only ever resets a limit in the client's favour.
+ */
+@Component
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, Bucket> buckets;
+
+    public InMemoryRateLimitStore(
+            MeterRegistry meterRegistry,
+            @Value("${security.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${security.rate-limit.idle-timeout:15m}") Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "auth.rate-limit.buckets");
+    }
+
+    @Override
+    public Duration tryConsume(String key, RateLimit limit) {
+        long now = System.nanoTime();
+        long[] waitNanos = new long[1];
+        buckets.asMap().compute(key, (k, bucket) -> {
+            Bucket refilled = bucket == null ? new Bucket(limit.capacity(), now) : bucket.refill(limit, now);
+            if (refilled.tokens() >= 1) {
+                return new Bucket(refilled.tokens() - 1, now);
+            }
+            waitNanos[0] = (long) Math.ceil((1 - refilled.tokens()) * limit.nanosPerToken());
+            return refilled;
+        });
+        return Duration.ofNanos(waitNanos[0]);
+    }
+
+    private record Bucket(double tokens, long refilledAt) {
+
+        Bucket refill(RateLimit limit, long now) {
+            double added = (double) (now - refilledAt) / limit.nanosPerToken();
+            return new Bucket(Math.min(limit.capacity(), tokens + added), now);
+        }
+    }
+}
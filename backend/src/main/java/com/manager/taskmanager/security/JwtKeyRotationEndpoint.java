@@ -0,0 +1,50 @@
+package com.manager.taskmanager.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Hot signing-key rotation for operators. Not exposed over HTTP unless "jwtkeys" is added to
+ * management.endpoints.web.exposure.include, and restricted to admins in {@code SecurityConfig}.
+ * <p>
+ * Rotated keys are held in memory only and are lost on restart, which invalidates every token they signed;
+ * keys meant to outlive the process have to be configured through jwt.secret and jwt.key-id instead.
+ * Every change drops the verified-token cache, so no token is served from it against a stale key ring.
+ */
+@Component
+@Endpoint(id = "jwtkeys")
+@RequiredArgsConstructor
+public class JwtKeyRotationEndpoint {
+
+    private final JwtUtil jwtUtil;
+    private final JwtTokenCache jwtTokenCache;
+
+    @ReadOperation
+    public Map<String, Object> keys() {
+        return Map.of(
+                "signingKeyId", jwtUtil.getSigningKeyId(),
+                "activeKeyIds", jwtUtil.getActiveKeyIds()
+        );
+    }
+
+    @WriteOperation
+    public Map<String, Object> rotate(@Selector String keyId, String secret) {
+        jwtUtil.rotateSigningKey(keyId, secret);
+        jwtTokenCache.invalidateAll();
+        return keys();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> retire(@Selector String keyId) {
+        jwtUtil.retireSigningKey(keyId);
+        jwtTokenCache.invalidateAll();
+        return keys();
+    }
+}
@@ -1,34 +1,107 @@
 package com.manager.taskmanager.security;
 
+import com.manager.taskmanager.model.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationAndValidation123456789}")
-    private String SECRET_KEY;
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
 
-    @Value("${jwt.expiration:86400000}")
-    private Long expiration;
+    private final String initialKeyId;
+    private final Long expiration;
+    private final JwtParser parser;
 
-    private SecretKey getSigningKey() {
+    // Immutable snapshot, replaced as a whole by compare-and-set, so neither readers nor rotations need a lock
+    private final AtomicReference<KeyRing> keyRing;
+
+    public JwtUtil(
+            @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationAndValidation123456789}") String secretKey,
+            @Value("${jwt.key-id:default}") String keyId,
+            @Value("${jwt.expiration:900000}") Long expiration) {
+        this.initialKeyId = keyId;
+        this.expiration = expiration;
+        this.keyRing = new AtomicReference<>(new KeyRing(keyId, Map.of(keyId, toSigningKey(secretKey))));
+        this.parser = Jwts.parser()
+                .keyLocator(new KeyRingLocator(keyId, keyRing))
+                .build();
+    }
+
+    private static SecretKey toSigningKey(String secret) {
         return Keys.hmacShaKeyFor(
-                SECRET_KEY.getBytes(StandardCharsets.UTF_8)
+                secret.getBytes(StandardCharsets.UTF_8)
         );
     }
 
+    /**
+     * Makes the given secret the signing key for new tokens. Previously active keys keep verifying
+     * tokens they signed until they are retired with {@link #retireSigningKey(String)}. A key id that is still
+     * in the ring is rejected: replacing its secret would leave tokens signed with the old one verified in caches.
+     * Rotated keys live only in memory; after a restart only the configured key verifies.
+     */
+    public void rotateSigningKey(String keyId, String secret) {
+        SecretKey key = toSigningKey(secret);
+        keyRing.updateAndGet(current -> {
+            if (current.keys().containsKey(keyId)) {
+                throw new IllegalArgumentException("Signing key already exists: " + keyId);
+            }
+            Map<String, SecretKey> keys = new LinkedHashMap<>(current.keys());
+            keys.put(keyId, key);
+            return new KeyRing(keyId, Map.copyOf(keys));
+        });
+    }
+
+    public void retireSigningKey(String keyId) {
+        keyRing.updateAndGet(current -> {
+            if (current.primaryKeyId().equals(keyId)) {
+                throw new IllegalArgumentException("Cannot retire the current signing key: " + keyId);
+            }
+            if (!current.keys().containsKey(keyId)) {
+                throw new IllegalArgumentException("Unknown signing key: " + keyId);
+            }
+            Map<String, SecretKey> keys = new LinkedHashMap<>(current.keys());
+            keys.remove(keyId);
+            return new KeyRing(current.primaryKeyId(), Map.copyOf(keys));
+        });
+    }
+
+    public String getSigningKeyId() {
+        return keyRing.get().primaryKeyId();
+    }
+
+    public Set<String> getActiveKeyIds() {
+        return keyRing.get().keys().keySet();
+    }
+
+    /**
+     * Tokens issued before key ids were introduced carry no "kid" header and belong to the initial key.
+     */
+    public boolean isActiveKey(String keyId) {
+        return keyRing.get().keys().containsKey(keyId != null ? keyId : initialKeyId);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -38,43 +111,91 @@ public class JwtUtil {
     }
 
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        return extractAllClaims(token).get(ROLE_CLAIM, String.class);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> resolver) {
         return resolver.apply(extractAllClaims(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Claims extractAllClaims(String token) {
+        return parseSignedClaims(token).getPayload();
+    }
+
+    public Jws<Claims> parseSignedClaims(String token) {
+        return parser.parseSignedClaims(token);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername())
-                && !isTokenExpired(token);
+        return validateToken(extractAllClaims(token), userDetails);
     }
 
-    public String generateToken(UserDetails userDetails, String role) {
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername())
+                && !isTokenExpired(claims);
+    }
+
+    /**
+     * Builds the principal straight from verified claims, without a user lookup.
+     */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        String role = claims.get(ROLE_CLAIM, String.class);
+        return new AuthenticatedUser(
+                claims.get(USER_ID_CLAIM, Long.class),
+                claims.getSubject(),
+                "",
+                role != null ? Role.valueOf(role) : Role.USER
+        );
+    }
+
+    public String generateToken(AuthenticatedUser user) {
+        return generateToken(user, user.getId(), user.getRole().name());
+    }
+
+    public String generateToken(UserDetails userDetails, Long userId, String role) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role);
+        claims.put(ROLE_CLAIM, role);
+        claims.put(USER_ID_CLAIM, userId);
         return createToken(claims, userDetails.getUsername());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        KeyRing ring = keyRing.get();
         return Jwts.builder()
+                .header().keyId(ring.primaryKeyId()).and()
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(ring.keys().get(ring.primaryKeyId()))
                 .compact();
     }
+
+    private record KeyRing(String primaryKeyId, Map<String, SecretKey> keys) {
+    }
+
+    private static class KeyRingLocator extends LocatorAdapter<Key> {
+
+        private final String initialKeyId;
+        private final AtomicReference<KeyRing> keyRing;
+
+        KeyRingLocator(String initialKeyId, AtomicReference<KeyRing> keyRing) {
+            this.initialKeyId = initialKeyId;
+            this.keyRing = keyRing;
+        }
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            String keyId = header.getKeyId() != null ? header.getKeyId() : initialKeyId;
+            SecretKey key = keyRing.get().keys().get(keyId);
+            if (key == null) {
+                throw new SignatureException("Unknown signing key: " + keyId);
+            }
+            return key;
+        }
+    }
 }
@@ -0,0 +1,217 @@
+package com.manager.taskmanager.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rate limits logins and registrations before they reach the password hashing: per client IP for both, and per
+ * username for logins, so credential stuffing is slowed down even when it is spread over many addresses.
+ * Rejected attempts get 429 with Retry-After. Login bodies are buffered to read the username, but only up to
+ * {@code maxBodySize}; larger ones get 413 before anything else is done for them.
+ */
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final Set<String> LIMITED_PATHS = Set.of(LOGIN_PATH, "/api/auth/register");
+
+    private final RateLimitStore store;
+    private final ObjectMapper objectMapper;
+    private final RateLimit perIp;
+    private final RateLimit perUsername;
+    private final int maxBodySize;
+    private final Counter ipRejections;
+    private final Counter usernameRejections;
+
+    public LoginRateLimitFilter(
+            RateLimitStore store,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${security.rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${security.rate-limit.ip.period:1m}") Duration ipPeriod,
+            @Value("${security.rate-limit.username.capacity:5}") int usernameCapacity,
+            @Value("${security.rate-limit.username.period:1m}") Duration usernamePeriod,
+            @Value("${security.rate-limit.max-body-size:4KB}") DataSize maxBodySize) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.perIp = new RateLimit(ipCapacity, ipPeriod);
+        this.perUsername = new RateLimit(usernameCapacity, usernamePeriod);
+        this.maxBodySize = Math.toIntExact(maxBodySize.toBytes());
+        this.ipRejections = rejections("ip", meterRegistry);
+        this.usernameRejections = rejections("username", meterRegistry);
+    }
+
+    private static Counter rejections(String limit, MeterRegistry meterRegistry) {
+        return Counter.builder("auth.rate-limit.rejected")
+                .description("Login and registration attempts rejected by the rate limit")
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !LIMITED_PATHS.contains(pathOf(request));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Duration wait = store.tryConsume("ip:" + request.getRemoteAddr(), perIp);
+        if (!wait.isZero()) {
+            ipRejections.increment();
+            reject(response, wait);
+            return;
+        }
+
+        if (!LOGIN_PATH.equals(pathOf(request))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // The username is in the JSON body, which the controller still has to read after us
+        byte[] body = readBody(request);
+        if (body == null) {
+            error(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body exceeds " + maxBodySize + " bytes");
+            return;
+        }
+        CachedBodyRequest cached = new CachedBodyRequest(request, body);
+        String username = usernameOf(body);
+        if (username != null) {
+            wait = store.tryConsume("username:" + username.toLowerCase(Locale.ROOT), perUsername);
+            if (!wait.isZero()) {
+                usernameRejections.increment();
+                reject(response, wait);
+                return;
+            }
+        }
+        filterChain.doFilter(cached, response);
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    // Null once the body turns out larger than allowed, without reading more than one byte past the limit
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxBodySize) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        return body.length > maxBodySize ? null : body;
+    }
+
+    // Malformed bodies are left to the controller's validation
+    private String usernameOf(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() && !username.asText().isBlank() ? username.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, Duration wait) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (wait.toMillis() + 999) / 1000)));
+        error(response, HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, retry later");
+    }
+
+    private void error(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "error", message,
+                "status", status.value(),
+                "timestamp", LocalDateTime.now()
+        ));
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            // Already complete in memory, so a non-blocking reader is told at once that data is available
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) {
+                    return in.read(bytes, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
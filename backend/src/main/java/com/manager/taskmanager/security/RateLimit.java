@@ -0,0 +1,20 @@
+package com.manager.taskmanager.security;
+
+import java.time.Duration;
+
+/**
+ * A token bucket of {@code capacity} tokens that refills completely over {@code period}, i.e. a sustained rate of
+ * capacity per period with bursts of up to capacity.
+ */
+public record RateLimit(int capacity, Duration period) {
+
+    public RateLimit {
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+        }
+    }
+
+    long nanosPerToken() {
+        return Math.max(1, period.toNanos() / capacity);
+    }
+}
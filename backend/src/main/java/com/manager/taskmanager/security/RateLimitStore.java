@@ -0,0 +1,17 @@
+package com.manager.taskmanager.security;
+
+import java.time.Duration;
+
+/**
+ * Holds the token buckets behind {@link LoginRateLimitFilter}. The in-memory implementation limits each instance
+ * on its own; a store backed by a shared cache would limit the deployment as a whole.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes a token from the bucket of {@code key}, creating a full bucket for an unknown key.
+     *
+     * @return {@link Duration#ZERO} if a token was taken, otherwise the time until the next token is available
+     */
+    Duration tryConsume(String key, RateLimit limit);
+}
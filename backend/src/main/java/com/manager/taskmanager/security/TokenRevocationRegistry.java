@@ -0,0 +1,50 @@
+package com.manager.taskmanager.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory record of users whose previously issued tokens must no longer be accepted, e.g. after a
+ * password change or account deletion. An entry only has to outlive the tokens it revokes, so entries
+ * older than the access token lifetime are dropped; a short lifetime keeps the registry small. Revocations
+ * are local to this instance.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private final long tokenLifetimeMillis;
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    public TokenRevocationRegistry(@Value("${jwt.expiration:900000}") long tokenLifetimeMillis) {
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+    }
+
+    public void revokeAllFor(Long userId) {
+        long now = System.currentTimeMillis();
+        revokedBefore.put(userId, now);
+        revokedBefore.values().removeIf(revokedAt -> revokedAt < now - tokenLifetimeMillis);
+    }
+
+    /**
+     * "iat" only has second precision, so a token issued within the same second as the revocation is
+     * treated as revoked too.
+     */
+    public boolean isRevoked(Claims claims) {
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        if (userId == null) {
+            return false;
+        }
+        Long revokedAt = revokedBefore.get(userId);
+        Date issuedAt = claims.getIssuedAt();
+        return revokedAt != null && (issuedAt == null || issuedAt.getTime() < revokedAt);
+    }
+
+    public int size() {
+        return revokedBefore.size();
+    }
+}
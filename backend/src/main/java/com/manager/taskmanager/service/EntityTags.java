@@ -0,0 +1,58 @@
+package com.manager.taskmanager.service;
+
+import com.manager.taskmanager.dto.TaskResponseDTO;
+import com.manager.taskmanager.dto.UserResponseDTO;
+
+/**
+ * Strong ETags built from ids and entity versions, so they can be computed from an entity or a DTO without
+ * rendering the body. A task's tag also covers its owner, whose fields are part of the task response. Versions
+ * are the ones the optimistic lock checks, so a matching If-Match guarantees the update applies to the tagged state.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String ofTask(Long id, Long version, Long ownerId, Long ownerVersion) {
+        return quote(id + "-" + version + "-" + ownerId + "-" + ownerVersion);
+    }
+
+    public static String ofTask(TaskResponseDTO task) {
+        UserResponseDTO owner = task.getUser();
+        return ofTask(task.getId(), task.getVersion(),
+                owner != null ? owner.getId() : null, owner != null ? owner.getVersion() : null);
+    }
+
+    public static String ofUser(Long id, Long version) {
+        return quote(id + "-" + version);
+    }
+
+    public static String ofUser(UserResponseDTO user) {
+        return ofUser(user.getId(), user.getVersion());
+    }
+
+    public static String ofListing(Long userId, long version) {
+        return quote(userId + "-" + Long.toHexString(version));
+    }
+
+    /**
+     * Evaluates an If-Match header value with the strong comparison, so weak tags never match.
+     * A missing header is no precondition.
+     */
+    public static boolean matches(String ifMatch, String etag) {
+        if (ifMatch == null) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
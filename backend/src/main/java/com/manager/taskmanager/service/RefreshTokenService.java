@@ -0,0 +1,126 @@
+package com.manager.taskmanager.service;
+
+import com.manager.taskmanager.exception.InvalidRefreshTokenException;
+import com.manager.taskmanager.model.RefreshToken;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.RefreshTokenRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.AuthenticatedUser;
+import com.manager.taskmanager.security.TokenRevocationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Long-lived refresh tokens that are exchanged for short-lived access tokens. The tokens are random, so a SHA-256
+ * lookup by primary key is all a refresh costs; BCrypt is only needed to start a session.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final Duration expiration;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            UserRepository userRepository,
+            TokenRevocationRegistry tokenRevocationRegistry,
+            @Value("${jwt.refresh.expiration:30d}") Duration expiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.expiration = expiration;
+    }
+
+    /**
+     * Starts a new token family, e.g. on login.
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID(), LocalDateTime.now());
+    }
+
+    /**
+     * Exchanges a refresh token for its successor. A token that has already been exchanged is evidence that it was
+     * copied, so its whole family is revoked together with the access tokens issued so far.
+     *
+     * @throws InvalidRefreshTokenException if the token is unknown, expired or already used
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String token) {
+        String tokenHash = hash(token);
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findById(tokenHash)
+                .filter(refreshToken -> refreshToken.getExpiresAt().isAfter(now))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown or expired refresh token"));
+
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(tokenHash, now) == 0) {
+            log.warn("Refresh token reused for user {}, revoking its family", current.getUserId());
+            refreshTokenRepository.deleteAllByFamilyId(current.getFamilyId());
+            tokenRevocationRegistry.revokeAllFor(current.getUserId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+
+        // Usually served from the second-level cache
+        User user = userRepository.findById(current.getUserId())
+                .orElseThrow(() -> new InvalidRefreshTokenException("User no longer exists"));
+        return new Rotation(
+                new AuthenticatedUser(user.getId(), user.getUsername(), "", user.getRole()),
+                issue(user.getId(), current.getFamilyId(), now)
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval:PT1H}",
+            initialDelayString = "${jwt.refresh.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        refreshTokenRepository.deleteAllExpiredBefore(LocalDateTime.now());
+    }
+
+    private String issue(Long userId, UUID familyId, LocalDateTime now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .userId(userId)
+                .familyId(familyId)
+                .expiresAt(now.plus(expiration))
+                .build());
+        return token;
+    }
+
+    // A fast hash suffices: the tokens carry 256 random bits, unlike passwords
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @param user         principal for the new access token
+     * @param refreshToken successor of the exchanged refresh token
+     */
+    public record Rotation(AuthenticatedUser user, String refreshToken) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.manager.taskmanager.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * How far a client has synced: its position in the (updatedAt, id) order of its tasks and in the
+ * (deletedAt, taskId) order of its tombstones, exchanged as an opaque string. A null task position means no
+ * task has been seen yet.
+ */
+record SyncWatermark(Position changed, Position deleted) {
+
+    private static final String SEPARATOR = "|";
+
+    static SyncWatermark decode(String watermark) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(watermark), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException();
+            }
+            return new SyncWatermark(
+                    new Position(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1])),
+                    new Position(LocalDateTime.parse(parts[2]), Long.parseLong(parts[3]))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid watermark: " + watermark);
+        }
+    }
+
+    String encode() {
+        String value = String.join(SEPARATOR,
+                changed.at().toString(), changed.id().toString(), deleted.at().toString(), deleted.id().toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    record Position(LocalDateTime at, Long id) implements Comparable<Position> {
+
+        private static final Comparator<Position> ORDER = Comparator.comparing(Position::at)
+                .thenComparing(Position::id);
+
+        // Past every row stamped at or before the given time
+        static Position endOf(LocalDateTime at) {
+            return new Position(at, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.manager.taskmanager.service;
+
+import com.manager.taskmanager.dto.BulkItemResultDTO;
+import com.manager.taskmanager.dto.BulkResultDTO;
+import com.manager.taskmanager.dto.TaskBulkUpdateDTO;
+import com.manager.taskmanager.dto.TaskRequestDTO;
+import com.manager.taskmanager.exception.TaskNotFoundException;
+import com.manager.taskmanager.mapper.TaskMapper;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.TaskOwnership;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.TaskTombstoneRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many task changes in one transaction. Items are validated and authorized one by one so a bad item
+ * only fails itself; the accepted ones are written with batched statements.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TaskBulkService {
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final UserRepository userRepository;
+    private final TaskMapper taskMapper;
+    private final Validator validator;
+    private final TaskListingCache taskListingCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${tasks.bulk.max-size:1000}")
+    private int maxBulkSize;
+
+    public BulkResultDTO createTasks(Long userId, List<TaskRequestDTO> dtos) {
+        checkSize(dtos);
+        if (!userRepository.existsById(userId)) {
+            throw new TaskNotFoundException("User not found with id: " + userId);
+        }
+        User user = userRepository.getReferenceById(userId);
+
+        List<BulkItemResultDTO> results = new ArrayList<>(dtos.size());
+        List<Task> tasks = new ArrayList<>(dtos.size());
+        List<BulkItemResultDTO> created = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            String error = validate(dtos.get(i));
+            if (error != null) {
+                results.add(failure(i, null, HttpStatus.BAD_REQUEST, error));
+                continue;
+            }
+            Task task = taskMapper.toEntity(dtos.get(i));
+            task.setUser(user);
+            if (task.getStatus() == null) {
+                task.setStatus(Status.TODO);
+            }
+            tasks.add(task);
+
+            BulkItemResultDTO result = success(i, null, HttpStatus.CREATED);
+            created.add(result);
+            results.add(result);
+        }
+
+        // Ids come from the pooled sequence on persist, the inserts themselves are batched at flush
+        taskRepository.saveAll(tasks);
+        for (int i = 0; i < tasks.size(); i++) {
+            created.get(i).setId(tasks.get(i).getId());
+            eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, userId, tasks.get(i).getId(), null));
+        }
+        if (!tasks.isEmpty()) {
+            taskListingCache.evictAfterCommit(userId);
+        }
+        return summarize(results);
+    }
+
+    /**
+     * @param ownerId restricts the updates to this owner's tasks; null means no ownership restriction
+     */
+    public BulkResultDTO updateTasks(Long ownerId, List<TaskBulkUpdateDTO> items) {
+        checkSize(items);
+        Set<Long> ids = items.stream()
+                .filter(Objects::nonNull)
+                .map(TaskBulkUpdateDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<BulkItemResultDTO> results = new ArrayList<>(items.size());
+        Set<Long> updatedOwners = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            TaskBulkUpdateDTO item = items.get(i);
+            String error = validate(item);
+            if (error != null) {
+                results.add(failure(i, item != null ? item.getId() : null, HttpStatus.BAD_REQUEST, error));
+                continue;
+            }
+            Task task = tasks.get(item.getId());
+            if (task == null) {
+                results.add(failure(i, item.getId(), HttpStatus.NOT_FOUND, "Task not found with id: " + item.getId()));
+            } else if (ownerId != null && !ownerId.equals(task.getUser().getId())) {
+                results.add(failure(i, item.getId(), HttpStatus.FORBIDDEN, "You can only update your own tasks!"));
+            } else {
+                TaskRequestDTO patch = item.getPatch();
+                if (patch.getTitle() != null) task.setTitle(patch.getTitle());
+                if (patch.getDescription() != null) task.setDescription(patch.getDescription());
+                if (patch.getStatus() != null) task.setStatus(patch.getStatus());
+                updatedOwners.add(task.getUser().getId());
+                eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, task.getUser().getId(), task.getId(), null));
+                results.add(success(i, item.getId(), HttpStatus.OK));
+            }
+        }
+        // Dirty tasks are flushed as batched updates on commit
+        taskListingCache.evictAfterCommit(updatedOwners);
+        return summarize(results);
+    }
+
+    /**
+     * @param ownerId restricts the deletes to this owner's tasks; null means no ownership restriction
+     */
+    public BulkResultDTO deleteTasks(Long ownerId, List<Long> ids) {
+        checkSize(ids);
+        Map<Long, Long> owners = taskRepository.findOwnershipByIdIn(ids.stream().filter(Objects::nonNull).toList())
+                .stream()
+                .collect(Collectors.toMap(TaskOwnership::getId, TaskOwnership::getOwnerId));
+
+        List<BulkItemResultDTO> results = new ArrayList<>(ids.size());
+        List<Long> deletable = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(failure(i, null, HttpStatus.BAD_REQUEST, "Task id is required"));
+            } else if (!owners.containsKey(id)) {
+                results.add(failure(i, id, HttpStatus.NOT_FOUND, "Task not found with id: " + id));
+            } else if (ownerId != null && !ownerId.equals(owners.get(id))) {
+                results.add(failure(i, id, HttpStatus.FORBIDDEN, "You can only delete your own tasks!"));
+            } else {
+                deletable.add(id);
+                results.add(success(i, id, HttpStatus.NO_CONTENT));
+            }
+        }
+
+        if (!deletable.isEmpty()) {
+            taskTombstoneRepository.recordDeletions(deletable, LocalDateTime.now());
+            taskRepository.deleteAllByIdIn(deletable);
+            taskListingCache.evictAfterCommit(deletable.stream().map(owners::get).collect(Collectors.toSet()));
+            deletable.forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.deleted(owners.get(id), id)));
+        }
+        return summarize(results);
+    }
+
+    private void checkSize(List<?> items) {
+        if (items.isEmpty() || items.size() > maxBulkSize) {
+            throw new IllegalArgumentException("Bulk requests must contain between 1 and " + maxBulkSize + " items");
+        }
+    }
+
+    private String validate(Object item) {
+        if (item == null) {
+            return "Item is required";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    private BulkItemResultDTO success(int index, Long id, HttpStatus status) {
+        return new BulkItemResultDTO(index, id, status.value(), null);
+    }
+
+    private BulkItemResultDTO failure(int index, Long id, HttpStatus status, String error) {
+        return new BulkItemResultDTO(index, id, status.value(), error);
+    }
+
+    private BulkResultDTO summarize(List<BulkItemResultDTO> results) {
+        int succeeded = (int) results.stream()
+                .filter(result -> result.getError() == null)
+                .count();
+        return new BulkResultDTO(succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,27 @@
+package com.manager.taskmanager.service;
+
+import com.manager.taskmanager.dto.TaskResponseDTO;
+
+/**
+ * Published by the task services for every task they write; delivered to subscribers after commit.
+ *
+ * @param task the task as it was written; null for deletions and for bulk writes, which do not map their tasks
+ */
+public record TaskChangedEvent(Type type, Long userId, Long taskId, TaskResponseDTO task) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    static TaskChangedEvent created(TaskResponseDTO task) {
+        return new TaskChangedEvent(Type.CREATED, task.getUser().getId(), task.getId(), task);
+    }
+
+    static TaskChangedEvent updated(TaskResponseDTO task) {
+        return new TaskChangedEvent(Type.UPDATED, task.getUser().getId(), task.getId(), task);
+    }
+
+    static TaskChangedEvent deleted(Long userId, Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, userId, taskId, null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.manager.taskmanager.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * Line-oriented formats tasks are exported to and imported from.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TaskDataFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    public static TaskDataFormat fromParameter(String value) {
+        for (TaskDataFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format: " + value);
+    }
+
+    public static TaskDataFormat fromContentType(String contentType) {
+        MediaType mediaType = contentType != null ? MediaType.parseMediaType(contentType) : null;
+        for (TaskDataFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+}
@@ -0,0 +1,151 @@
+package com.manager.taskmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manager.taskmanager.dto.TaskEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of committed task changes to the server-sent event streams of the task owners.
+ * <p>
+ * Publishing only offers to bounded per-subscriber queues, so a writer never waits for a client. Every stream is
+ * drained by its own async request thread, a virtual one (spring.threads.virtual.enabled), so an idle stream costs
+ * little more than its queue.
+ * A subscriber whose queue is full is disconnected rather than buffered without bound; like any client that
+ * reconnects, it should catch up through delta sync. Subscriptions are local to this instance.
+ * <p>
+ * Frames are written straight to the response instead of through {@code SseEmitter}, whose synchronized sends
+ * would pin the carrier thread while a slow client blocks the write.
+ */
+@Component
+public class TaskEventBus {
+
+    // Queued to wake the reader of a closed subscription
+    private static final TaskChangedEvent CLOSED = new TaskChangedEvent(null, null, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Duration heartbeat;
+    private final Duration maxDuration;
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter droppedSubscribers;
+
+    public TaskEventBus(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${tasks.events.buffer-size:256}") int bufferSize,
+            @Value("${tasks.events.heartbeat:30s}") Duration heartbeat,
+            @Value("${tasks.events.max-duration:20m}") Duration maxDuration) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.heartbeat = heartbeat;
+        this.maxDuration = maxDuration;
+        Gauge.builder("tasks.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open task event streams")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("tasks.events.dropped")
+                .description("Task event streams closed because the client did not keep up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes the user's task events to {@code out} as server-sent events until the client goes away, falls behind
+     * or the stream reaches its maximum duration. Blocks the calling thread throughout.
+     */
+    public void stream(Long userId, OutputStream out) throws IOException {
+        Subscription subscription = new Subscription(new ArrayBlockingQueue<>(bufferSize), new AtomicBoolean());
+        subscriptions.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        subscriberCount.incrementAndGet();
+        try {
+            // Commits the response so the client sees the stream open before the first event
+            write(out, ": connected\n\n");
+            long deadline = System.nanoTime() + maxDuration.toNanos();
+            long remaining;
+            while (!subscription.closed().get() && (remaining = deadline - System.nanoTime()) > 0) {
+                TaskChangedEvent event = subscription.queue().poll(Math.min(remaining, heartbeat.toNanos()), TimeUnit.NANOSECONDS);
+                if (event == CLOSED) {
+                    break;
+                } else if (event != null) {
+                    write(out, "event: " + event.type().name().toLowerCase() + "\ndata: "
+                            + objectMapper.writeValueAsString(new TaskEventDTO(event.taskId(), event.task())) + "\n\n");
+                } else {
+                    // Keeps proxies from cutting the idle stream and surfaces clients that went away
+                    write(out, ": heartbeat\n\n");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            subscription.close();
+            subscriptions.computeIfPresent(userId, (id, userSubscriptions) -> {
+                userSubscriptions.remove(subscription);
+                return userSubscriptions.isEmpty() ? null : userSubscriptions;
+            });
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private static void write(OutputStream out, String frame) throws IOException {
+        out.write(frame.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Runs after the writing transaction has committed, so subscribers never see a change that is rolled back.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(TaskChangedEvent event) {
+        Set<Subscription> userSubscriptions = subscriptions.get(event.userId());
+        if (userSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : userSubscriptions) {
+            if (!subscription.queue().offer(event) && subscription.close()) {
+                droppedSubscribers.increment();
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    void closeAll() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(Subscription::close));
+    }
+
+    private record Subscription(BlockingQueue<TaskChangedEvent> queue, AtomicBoolean closed) {
+
+        /**
+         * Pending events are dropped; a client that was cut off has to catch up through delta sync anyway.
+         */
+        private boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            queue.clear();
+            queue.offer(CLOSED);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.manager.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.manager.taskmanager.mapper.TaskMapper;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.TaskRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes tasks to a stream row by row from a database cursor, so memory stays constant whatever the table size.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    private static final String CSV_HEADER = "id,title,description,status,createdAt,updatedAt,userId,username";
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final ObjectMapper objectMapper;
+
+    @Value("${tasks.export.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Runs in its own read-only transaction, which also keeps PostgreSQL on a server-side cursor instead of
+     * materializing the whole result.
+     */
+    @Transactional(readOnly = true)
+    public long export(Long userId, Status status, TaskDataFormat format, OutputStream out) throws IOException {
+        try (Stream<TaskRow> rows = taskRepository.streamRows(userId, status, fetchSize)) {
+            return switch (format) {
+                case NDJSON -> writeNdjson(rows.iterator(), out);
+                case CSV -> writeCsv(rows.iterator(), out);
+            };
+        }
+    }
+
+    private long writeNdjson(Iterator<TaskRow> rows, OutputStream out) throws IOException {
+        // Flushing after every row would turn each one into its own network write
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, taskMapper.toResponse(rows.next()));
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<TaskRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long count = 0;
+        while (rows.hasNext()) {
+            TaskRow row = rows.next();
+            writer.write(String.join(",",
+                    String.valueOf(row.id()),
+                    csvField(row.title()),
+                    csvField(row.description()),
+                    row.status().name(),
+                    csvField(row.createdAt()),
+                    csvField(row.updatedAt()),
+                    String.valueOf(row.userId()),
+                    csvField(row.username())
+            ));
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks and double embedded quotes
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
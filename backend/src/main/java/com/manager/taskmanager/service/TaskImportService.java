@@ -0,0 +1,121 @@
+package com.manager.taskmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manager.taskmanager.dto.TaskImportErrorDTO;
+import com.manager.taskmanager.dto.TaskImportResultDTO;
+import com.manager.taskmanager.dto.TaskRequestDTO;
+import com.manager.taskmanager.exception.TaskNotFoundException;
+import com.manager.taskmanager.mapper.TaskMapper;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks while the body is still arriving. Records are parsed and validated one at a time, valid ones
+ * are inserted in batches of {@code batchSize}, each in its own transaction. No transaction, and so no pooled
+ * connection, is held while the body is read, so a slow uploader cannot tie up the connection pool. The request
+ * body is only read as fast as batches are written, which leaves backpressure to TCP flow control.
+ * Batches committed before a database failure stay imported.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskImportService {
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TaskMapper taskMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final TaskListingCache taskListingCache;
+
+    @Value("${tasks.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${tasks.import.max-errors:100}")
+    private int maxErrors;
+
+    @Value("${tasks.import.max-record-length:8192}")
+    private int maxRecordLength;
+
+    public TaskImportResultDTO importTasks(Long userId, TaskDataFormat format, InputStream body) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new TaskNotFoundException("User not found with id: " + userId);
+        }
+
+        TaskRecordReader reader = TaskRecordReader.of(format, body, objectMapper, maxRecordLength);
+        List<TaskImportErrorDTO> errors = new ArrayList<>();
+        List<Task> batch = new ArrayList<>(batchSize);
+        long rejected = 0;
+        long accepted = 0;
+
+        TaskRecordReader.ParsedRecord record;
+        while ((record = reader.next()) != null) {
+            String error = record.error() != null ? record.error() : validate(record.task());
+            if (error != null) {
+                rejected++;
+                if (errors.size() < maxErrors) {
+                    errors.add(new TaskImportErrorDTO(record.number(), error));
+                }
+                continue;
+            }
+
+            batch.add(toTask(record.task()));
+            if (batch.size() >= batchSize) {
+                accepted += writeBatch(userId, batch);
+            }
+        }
+        if (!batch.isEmpty()) {
+            accepted += writeBatch(userId, batch);
+        }
+
+        return new TaskImportResultDTO(accepted, rejected, errors);
+    }
+
+    private Task toTask(TaskRequestDTO dto) {
+        Task task = taskMapper.toEntity(dto);
+        if (task.getStatus() == null) {
+            task.setStatus(Status.TODO);
+        }
+        return task;
+    }
+
+    // Writes and commits the batch in a transaction of its own, opened only once the batch has been read
+    private int writeBatch(Long userId, List<Task> batch) {
+        int size = batch.size();
+        new TransactionTemplate(transactionManager).executeWithoutResult(transaction -> {
+            batch.forEach(task -> task.setUser(userRepository.getReferenceById(userId)));
+            taskRepository.saveAll(batch);
+            taskListingCache.evictAfterCommit(userId);
+        });
+        batch.clear();
+        return size;
+    }
+
+    private String validate(TaskRequestDTO dto) {
+        Set<ConstraintViolation<TaskRequestDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,106 @@
+package com.manager.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.manager.taskmanager.dto.TaskPageDTO;
+import com.manager.taskmanager.model.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of per-user task listing pages, weighed by the number of tasks they hold.
+ * <p>
+ * Every user has a version that is part of the key. Writers bump it once their transaction has committed, which
+ * makes all of the user's cached pages unreachable at once; they are dropped by regular eviction. A page loaded
+ * concurrently with a write is stored under the version read before loading, so it can never be served after
+ * the bump. Versions come from one sequence and are never reused, even after a user's version was evicted.
+ * <p>
+ * Pages are loaded outside of the cache's map: a load inside its compute would hold a bin lock during the query,
+ * blocking other keys and pinning the carrier of a virtual thread. Concurrent misses on one page may each load it.
+ */
+@Component
+public class TaskListingCache {
+
+    private final Cache<ListingKey, TaskPageDTO> pages;
+    private final Cache<Long, Long> versions;
+    // Randomly seeded so versions, which also end up in ETags, are not repeated after a restart
+    private final AtomicLong versionSequence = new AtomicLong(ThreadLocalRandom.current().nextLong() >>> 1);
+
+    public TaskListingCache(
+            MeterRegistry meterRegistry,
+            @Value("${tasks.listing-cache.max-weight:50000}") long maxWeight,
+            @Value("${tasks.listing-cache.ttl:10m}") Duration ttl) {
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((ListingKey key, TaskPageDTO page) -> 1 + page.getItems().size())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Every cached page weighs at least one, so there is no point in tracking more users than that
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxWeight)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "tasks.listing");
+    }
+
+    public TaskPageDTO get(Long userId, Status status, String cursor, int pageSize, Supplier<TaskPageDTO> loader) {
+        ListingKey key = new ListingKey(userId, version(userId), status, cursor, pageSize);
+        TaskPageDTO page = pages.getIfPresent(key);
+        if (page == null) {
+            page = loader.get();
+            pages.put(key, page);
+        }
+        return page;
+    }
+
+    /**
+     * Changes whenever any of the user's listing pages may have changed.
+     */
+    public long version(Long userId) {
+        return versions.get(userId, id -> versionSequence.incrementAndGet());
+    }
+
+    public void evictAfterCommit(Long userId) {
+        evictAfterCommit(Set.of(userId));
+    }
+
+    /**
+     * Evicts once the surrounding transaction has committed, or right away outside of one. Evicting earlier
+     * would let a concurrent reader cache the not yet committed state again.
+     */
+    public void evictAfterCommit(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(ids);
+            }
+        });
+    }
+
+    private void evict(Collection<Long> userIds) {
+        userIds.forEach(userId -> versions.put(userId, versionSequence.incrementAndGet()));
+    }
+
+    private record ListingKey(Long userId, long version, Status status, String cursor, int pageSize) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.manager.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.manager.taskmanager.dto.TaskRequestDTO;
+import com.manager.taskmanager.model.Status;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pulls one task record at a time from an import body. At most one record, capped at a maximum length, is held
+ * in memory; longer records are skipped and reported instead of buffered.
+ */
+abstract class TaskRecordReader {
+
+    record ParsedRecord(long number, TaskRequestDTO task, String error) {
+    }
+
+    protected final Reader reader;
+    protected final int maxRecordLength;
+    protected long number;
+
+    protected TaskRecordReader(InputStream in, int maxRecordLength) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    static TaskRecordReader of(TaskDataFormat format, InputStream in, ObjectMapper objectMapper, int maxRecordLength)
+            throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonReader(in, objectMapper, maxRecordLength);
+            case CSV -> new CsvReader(in, maxRecordLength);
+        };
+    }
+
+    /**
+     * @return the next record, or null once the input is exhausted
+     */
+    abstract ParsedRecord next() throws IOException;
+
+    protected ParsedRecord tooLong() {
+        return new ParsedRecord(number, null, "Record exceeds " + maxRecordLength + " characters");
+    }
+
+    private static final class NdjsonReader extends TaskRecordReader {
+
+        private final ObjectReader taskReader;
+
+        NdjsonReader(InputStream in, ObjectMapper objectMapper, int maxRecordLength) {
+            super(in, maxRecordLength);
+            this.taskReader = objectMapper.readerFor(TaskRequestDTO.class);
+        }
+
+        @Override
+        ParsedRecord next() throws IOException {
+            StringBuilder line = new StringBuilder();
+            while (true) {
+                line.setLength(0);
+                boolean truncated = false;
+                int c;
+                while ((c = reader.read()) != -1 && c != '\n') {
+                    if (line.length() < maxRecordLength) {
+                        line.append((char) c);
+                    } else {
+                        truncated = true;
+                    }
+                }
+                if (c == -1 && line.isEmpty()) {
+                    return null;
+                }
+                if (line.toString().isBlank()) {
+                    continue;
+                }
+                number++;
+                if (truncated) {
+                    return tooLong();
+                }
+                try {
+                    // A literal such as null would otherwise be read as a missing task instead of a bad row
+                    JsonNode node = taskReader.readTree(line.toString());
+                    if (!node.isObject()) {
+                        return new ParsedRecord(number, null, "Record must be a JSON object");
+                    }
+                    return new ParsedRecord(number, taskReader.readValue(node), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRecord(number, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 records, so quoted fields may contain separators and line breaks. The header names the columns;
+     * only title, description and status are read, which also accepts files produced by the export.
+     */
+    private static final class CsvReader extends TaskRecordReader {
+
+        private final int titleColumn;
+        private final int descriptionColumn;
+        private final int statusColumn;
+        private boolean truncated;
+
+        CsvReader(InputStream in, int maxRecordLength) throws IOException {
+            super(in, maxRecordLength);
+            List<String> header = readFields();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV input must start with a header row");
+            }
+            if (truncated) {
+                throw new IllegalArgumentException("CSV header exceeds " + maxRecordLength + " characters");
+            }
+            List<String> columns = header.stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            titleColumn = columns.indexOf("title");
+            descriptionColumn = columns.indexOf("description");
+            statusColumn = columns.indexOf("status");
+            if (titleColumn < 0) {
+                throw new IllegalArgumentException("CSV header must contain a title column");
+            }
+        }
+
+        @Override
+        ParsedRecord next() throws IOException {
+            List<String> fields;
+            do {
+                fields = readFields();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isEmpty() && !truncated);
+
+            number++;
+            if (truncated) {
+                return tooLong();
+            }
+
+            String status = field(fields, statusColumn);
+            TaskRequestDTO task = TaskRequestDTO.builder()
+                    .title(field(fields, titleColumn))
+                    .description(field(fields, descriptionColumn))
+                    .build();
+            if (status != null) {
+                try {
+                    task.setStatus(Status.valueOf(status.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    return new ParsedRecord(number, null, "Unknown status: " + status);
+                }
+            }
+            return new ParsedRecord(number, task, null);
+        }
+
+        private static String field(List<String> fields, int column) {
+            if (column < 0 || column >= fields.size() || fields.get(column).isEmpty()) {
+                return null;
+            }
+            return fields.get(column);
+        }
+
+        private List<String> readFields() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            int length = 0;
+            truncated = false;
+
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1) {
+                if (inQuotes) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            append(field, '"', length++);
+                        } else {
+                            inQuotes = false;
+                            if (following != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        append(field, (char) c, length++);
+                    }
+                } else if (c == '"') {
+                    inQuotes = true;
+                } else if (c == ',') {
+                    // Separators count toward the length, so a run of them cannot grow the field list without bound
+                    if (length++ < maxRecordLength) {
+                        fields.add(field.toString());
+                    } else {
+                        truncated = true;
+                    }
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    append(field, (char) c, length++);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private void append(StringBuilder field, char c, int length) {
+            if (length < maxRecordLength) {
+                field.append(c);
+            } else {
+                truncated = true;
+            }
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package com.manager.taskmanager.service;
 
+import com.manager.taskmanager.dto.TaskPageDTO;
 import com.manager.taskmanager.dto.TaskRequestDTO;
 import com.manager.taskmanager.dto.TaskResponseDTO;
+import com.manager.taskmanager.exception.PreconditionFailedException;
 import com.manager.taskmanager.exception.TaskNotFoundException;
+import com.manager.taskmanager.mapper.TaskMapper;
+import com.manager.taskmanager.model.Status;
 import com.manager.taskmanager.model.Task;
 import com.manager.taskmanager.model.User;
 import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.TaskRow;
+import com.manager.taskmanager.repository.TaskTombstoneRepository;
 import com.manager.taskmanager.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,76 +29,166 @@ import java.util.stream.Collectors;
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final TaskMapper taskMapper;
+    private final TaskListingCache taskListingCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    // Clean mapping using configured ModelMapper
-    private TaskResponseDTO mapToDTO(Task task) {
-        return modelMapper.map(task, TaskResponseDTO.class);
-    }
+    @Value("${tasks.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${tasks.page.max-size:100}")
+    private int maxPageSize;
 
     @Transactional
     public TaskResponseDTO createTask(Long userId, TaskRequestDTO dto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new TaskNotFoundException("User not found with id: " + userId));
 
-        Task task = modelMapper.map(dto, Task.class);
+        Task task = taskMapper.toEntity(dto);
         task.setUser(user);
 
         if (task.getStatus() == null) {
-            task.setStatus(com.manager.taskmanager.model.Status.TODO);
+            task.setStatus(Status.TODO);
         }
 
         Task savedTask = taskRepository.save(task);
-        return mapToDTO(savedTask);
+        taskListingCache.evictAfterCommit(userId);
+        TaskResponseDTO response = taskMapper.toResponse(savedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.created(response));
+        return response;
     }
 
-    public List<TaskResponseDTO> getAllTasks() {
-        return taskRepository.findAll()
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public TaskPageDTO getAllTasks(Status status, String cursor, Integer limit) {
+        return findPage(null, status, cursor, resolvePageSize(limit));
     }
 
-    public List<TaskResponseDTO> getTasksByUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new TaskNotFoundException("User not found with id: " + userId));
+    /**
+     * ETag shared by all listing pages of the user; read it before the page so a concurrent write can only make
+     * the tag older than the page, never newer.
+     */
+    public String getTaskListingETag(Long userId) {
+        return EntityTags.ofListing(userId, taskListingCache.version(userId));
+    }
 
-        return taskRepository.findByUser(user)
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public TaskPageDTO getTasksByUser(Long userId, Status status, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        return taskListingCache.get(userId, status, cursor, pageSize, () -> {
+            TaskPageDTO page = findPage(userId, status, cursor, pageSize);
+
+            // Only an empty first page needs to tell an unknown user from one without tasks
+            if (page.getItems().isEmpty() && cursor == null && !userRepository.existsById(userId)) {
+                throw new TaskNotFoundException("User not found with id: " + userId);
+            }
+            return page;
+        });
     }
 
-    public TaskResponseDTO getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
-        return mapToDTO(task);
+    /**
+     * Seeks past the cursor on (createdAt, id) and fetches one extra row to learn whether another page follows.
+     */
+    private TaskPageDTO findPage(Long userId, Status status, String cursor, int pageSize) {
+        TaskCursor after = cursor != null ? TaskCursor.decode(cursor) : null;
+
+        List<TaskRow> rows = taskRepository.findPage(
+                userId,
+                status,
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                pageSize + 1
+        );
+
+        String next = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            TaskRow last = rows.get(pageSize - 1);
+            next = new TaskCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return new TaskPageDTO(taskMapper.toResponses(rows), next);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * Loads the task only if it belongs to {@code ownerId}; a null owner means no ownership restriction.
+     * An empty result does not tell a missing task from a foreign one, see {@link #getTaskOwnerId(Long)}.
+     */
+    public Optional<TaskResponseDTO> findTaskById(Long id, Long ownerId) {
+        return findOwnedTask(id, ownerId).map(taskMapper::toResponse);
+    }
+
+    /**
+     * ETag of the task as {@link #findTaskById(Long, Long)} would render it, without mapping it.
+     */
+    public Optional<String> findTaskETag(Long id, Long ownerId) {
+        return findOwnedTask(id, ownerId).map(this::eTagOf);
     }
 
     public Long getTaskOwnerId(Long taskId) {
-        Task task = taskRepository.findById(taskId)
+        return taskRepository.findOwnerIdById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
-        return task.getUser().getId();
     }
 
+    /**
+     * The task is usually served from the second-level cache, so the only statement is the versioned
+     * {@code UPDATE ... WHERE id = ? AND version = ?}. A concurrent update between the check and the flush fails it
+     * with an {@link org.springframework.orm.ObjectOptimisticLockingFailureException}.
+     *
+     * @param ifMatch If-Match header value; the update is rejected unless it matches the task's current ETag
+     */
     @Transactional
-    public TaskResponseDTO updateTask(Long id, TaskRequestDTO dto) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+    public Optional<TaskResponseDTO> updateTask(Long id, Long ownerId, TaskRequestDTO dto, String ifMatch) {
+        return findOwnedTask(id, ownerId).map(task -> {
+            if (!EntityTags.matches(ifMatch, eTagOf(task))) {
+                throw new PreconditionFailedException("Task " + id + " has been modified");
+            }
+            if (dto.getTitle() != null) task.setTitle(dto.getTitle());
+            if (dto.getDescription() != null) task.setDescription(dto.getDescription());
+            if (dto.getStatus() != null) task.setStatus(dto.getStatus());
+
+            // Flushed so the response, and the ETag derived from it, carry the new version
+            Task updatedTask = taskRepository.saveAndFlush(task);
+            taskListingCache.evictAfterCommit(task.getUser().getId());
+            TaskResponseDTO response = taskMapper.toResponse(updatedTask);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(response));
+            return response;
+        });
+    }
 
-        if (dto.getTitle() != null) task.setTitle(dto.getTitle());
-        if (dto.getDescription() != null) task.setDescription(dto.getDescription());
-        if (dto.getStatus() != null) task.setStatus(dto.getStatus());
+    /**
+     * Deletes through the entity rather than a bulk statement, so only this task is evicted from the
+     * second-level cache instead of the whole region.
+     */
+    @Transactional
+    public boolean deleteTask(Long id, Long ownerId) {
+        return findOwnedTask(id, ownerId)
+                .map(task -> {
+                    taskTombstoneRepository.recordDeletions(List.of(task.getId()), LocalDateTime.now());
+                    taskRepository.delete(task);
+                    taskListingCache.evictAfterCommit(task.getUser().getId());
+                    eventPublisher.publishEvent(TaskChangedEvent.deleted(task.getUser().getId(), id));
+                    return true;
+                })
+                .orElse(false);
+    }
 
-        Task updatedTask = taskRepository.save(task);
-        return mapToDTO(updatedTask);
+    private String eTagOf(Task task) {
+        return EntityTags.ofTask(task.getId(), task.getVersion(), task.getUser().getId(), task.getUser().getVersion());
     }
 
-    @Transactional
-    public void deleteTask(Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
-        taskRepository.delete(task);
+    // Served from the second-level cache when warm; the owner id is read off the lazy proxy without loading it
+    private Optional<Task> findOwnedTask(Long id, Long ownerId) {
+        return taskRepository.findById(id)
+                .filter(task -> ownerId == null || (task.getUser() != null && ownerId.equals(task.getUser().getId())));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package com.manager.taskmanager.service;
+
+import com.manager.taskmanager.dto.TaskChangesDTO;
+import com.manager.taskmanager.exception.SyncWatermarkExpiredException;
+import com.manager.taskmanager.exception.TaskNotFoundException;
+import com.manager.taskmanager.mapper.TaskMapper;
+import com.manager.taskmanager.model.TaskTombstone;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.TaskRow;
+import com.manager.taskmanager.repository.TaskTombstoneRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.service.SyncWatermark.Position;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delta sync: the tasks a client has to upsert and delete to catch up from its last watermark.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskSyncService {
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final UserRepository userRepository;
+    private final TaskMapper taskMapper;
+
+    @Value("${tasks.sync.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${tasks.sync.settle-time:5s}")
+    private Duration settleTime;
+
+    @Value("${tasks.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    /**
+     * @param since watermark of the previous call; null for a first sync, which returns every task
+     * @throws SyncWatermarkExpiredException if tombstones the client has not seen may already be purged
+     */
+    public TaskChangesDTO getChanges(Long userId, String since, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime settled = now.minus(settleTime);
+
+        SyncWatermark from;
+        if (since == null) {
+            if (!userRepository.existsById(userId)) {
+                throw new TaskNotFoundException("User not found with id: " + userId);
+            }
+            // A first sync receives every live task, so earlier deletions are of no interest
+            from = new SyncWatermark(null, Position.endOf(settled));
+        } else {
+            from = SyncWatermark.decode(since);
+            if (from.deleted().at().isBefore(now.minus(tombstoneRetention))) {
+                throw new SyncWatermarkExpiredException("Watermark is older than the tombstone retention, sync from scratch");
+            }
+        }
+
+        List<TaskRow> rows = taskRepository.findChanges(
+                userId,
+                from.changed() != null ? from.changed().at() : null,
+                from.changed() != null ? from.changed().id() : null,
+                pageSize + 1
+        );
+        List<TaskTombstone> tombstones = taskTombstoneRepository.findPage(
+                userId, from.deleted().at(), from.deleted().id(), Limit.of(pageSize + 1));
+
+        boolean moreChanged = rows.size() > pageSize;
+        boolean moreDeleted = tombstones.size() > pageSize;
+        rows = rows.subList(0, Math.min(rows.size(), pageSize));
+        tombstones = tombstones.subList(0, Math.min(tombstones.size(), pageSize));
+
+        SyncWatermark to = new SyncWatermark(
+                advance(from.changed(), rows.stream().map(row -> new Position(row.updatedAt(), row.id())).toList(),
+                        moreChanged, settled),
+                advance(from.deleted(), tombstones.stream().map(tombstone -> new Position(tombstone.getDeletedAt(), tombstone.getTaskId())).toList(),
+                        moreDeleted, settled)
+        );
+        return new TaskChangesDTO(
+                taskMapper.toResponses(rows),
+                tombstones.stream().map(TaskTombstone::getTaskId).toList(),
+                to.encode(),
+                moreChanged || moreDeleted
+        );
+    }
+
+    /**
+     * Timestamps are taken before their transaction commits, so a row stamped after the settle horizon may still be
+     * followed by an earlier-stamped one that is not visible yet. The watermark therefore stops at the last settled
+     * row and rows past the horizon are sent again on the next call. Only a page with nothing settled moves past it,
+     * to guarantee progress.
+     */
+    private static Position advance(Position from, List<Position> returned, boolean more, LocalDateTime settled) {
+        Position horizon = Position.endOf(settled);
+        if (!more) {
+            return from != null && from.compareTo(horizon) > 0 ? from : horizon;
+        }
+        for (int i = returned.size() - 1; i >= 0; i--) {
+            if (returned.get(i).compareTo(horizon) <= 0) {
+                return returned.get(i);
+            }
+        }
+        return returned.get(returned.size() - 1);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return maxPageSize;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.sync.tombstone-purge-interval:PT1H}",
+            initialDelayString = "${tasks.sync.tombstone-purge-interval:PT1H}")
+    @Transactional
+    public void purgeTombstones() {
+        taskTombstoneRepository.deleteAllDeletedBefore(LocalDateTime.now().minus(tombstoneRetention));
+    }
+}
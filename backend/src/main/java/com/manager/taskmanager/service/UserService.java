@@ -4,11 +4,15 @@ import com.manager.taskmanager.dto.UserRequestDTO;
 import com.manager.taskmanager.dto.UserResponseDTO;
 import com.manager.taskmanager.exception.UserNotFoundException;
 import com.manager.taskmanager.exception.DuplicateResourceException;
+import com.manager.taskmanager.exception.PreconditionFailedException;
+import com.manager.taskmanager.mapper.UserMapper;
 import com.manager.taskmanager.model.Role;
 import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.RefreshTokenRepository;
+import com.manager.taskmanager.repository.TaskTombstoneRepository;
 import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.TokenRevocationRegistry;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,12 +26,12 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
-
-    private UserResponseDTO mapToDTO(User user) {
-        return modelMapper.map(user, UserResponseDTO.class);
-    }
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final TaskListingCache taskListingCache;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
 
     @Transactional
     public UserResponseDTO createUser(UserRequestDTO dto) {
@@ -39,7 +43,7 @@ public class UserService {
             throw new DuplicateResourceException("Email already exists");
         }
 
-        User user = modelMapper.map(dto, User.class);
+        User user = userMapper.toEntity(dto);
         user.setPassword(passwordEncoder.encode(dto.getPassword()));
 
         if (user.getRole() == null) {
@@ -47,26 +51,39 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(user);
-        return mapToDTO(savedUser);
+        return userMapper.toResponse(savedUser);
     }
 
     public List<UserResponseDTO> getAllUsers() {
         return userRepository.findAll()
                 .stream()
-                .map(this::mapToDTO)
+                .map(userMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     public UserResponseDTO getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
-        return mapToDTO(user);
+        return userMapper.toResponse(user);
     }
 
+    public String getUserETag(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+        return EntityTags.ofUser(user.getId(), user.getVersion());
+    }
+
+    /**
+     * @param ifMatch If-Match header value; the update is rejected unless it matches the user's current ETag
+     */
     @Transactional
-    public UserResponseDTO updateUser(Long id, UserRequestDTO dto) {
+    public UserResponseDTO updateUser(Long id, UserRequestDTO dto, String ifMatch) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+        if (!EntityTags.matches(ifMatch, EntityTags.ofUser(user.getId(), user.getVersion()))) {
+            throw new PreconditionFailedException("User " + id + " has been modified");
+        }
+        boolean credentialsChanged = false;
 
         // Check for duplicate username if changed
         if (dto.getUsername() != null && !dto.getUsername().equals(user.getUsername())) {
@@ -74,6 +91,7 @@ public class UserService {
                 throw new DuplicateResourceException("Username already exists");
             }
             user.setUsername(dto.getUsername());
+            credentialsChanged = true;
         }
 
         // Check for duplicate email if changed
@@ -87,10 +105,20 @@ public class UserService {
         // Update password if provided (already validated by @Valid)
         if (dto.getPassword() != null && !dto.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(dto.getPassword()));
+            credentialsChanged = true;
         }
 
-        User updatedUser = userRepository.save(user);
-        return mapToDTO(updatedUser);
+        // Flushed so the response, and the ETag derived from it, carry the new version
+        User updatedUser = userRepository.saveAndFlush(user);
+        // Listed tasks embed their owner
+        taskListingCache.evictAfterCommit(id);
+
+        // Tokens issued for the old username or password must stop working
+        if (credentialsChanged) {
+            refreshTokenRepository.deleteAllByUserId(id);
+            tokenRevocationRegistry.revokeAllFor(id);
+        }
+        return userMapper.toResponse(updatedUser);
     }
 
     @Transactional
@@ -98,5 +126,10 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
         userRepository.delete(user);
+        // Nobody is left to sync the user's deletions
+        taskTombstoneRepository.deleteAllByUserId(id);
+        refreshTokenRepository.deleteAllByUserId(id);
+        taskListingCache.evictAfterCommit(id);
+        tokenRevocationRegistry.revokeAllFor(id);
     }
 }
\ No newline at end of file
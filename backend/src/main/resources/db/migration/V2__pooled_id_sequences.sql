@@ -0,0 +1,13 @@
+-- Ids now come from pooled-lo sequences so Hibernate can batch inserts. The increment must equal
+-- taskmanager.id.allocation_size; Hibernate refuses to start on a mismatch.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE users_seq INCREMENT BY ${idAllocationSize};
+CREATE SEQUENCE tasks_seq INCREMENT BY ${idAllocationSize};
+
+-- pooled-lo hands out [value, value + increment), so continuing at max(id) + 1 cannot collide
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM users), false);
+SELECT setval('tasks_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks), false);
@@ -0,0 +1,14 @@
+-- Delta sync reads a user's tasks in (updated_at, id) order, so every row needs an updated_at
+UPDATE tasks SET updated_at = created_at WHERE updated_at IS NULL;
+CREATE INDEX idx_tasks_user_updated_at_id ON tasks (user_id, updated_at, id);
+
+-- One row per deleted task so deletions reach syncing clients; purged after the retention period.
+-- No foreign keys: both the task and its owner are gone by the time the tombstone is read.
+CREATE TABLE task_tombstones (
+    task_id    BIGINT       PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_task_tombstones_user_deleted_at ON task_tombstones (user_id, deleted_at, task_id);
+CREATE INDEX idx_task_tombstones_deleted_at ON task_tombstones (deleted_at);
@@ -0,0 +1,5 @@
+-- Status-filtered listings, per user and across all users, seek straight to the status in (created_at, id)
+-- order instead of filtering every row of the broader index. Built concurrently so writes are not blocked;
+-- Flyway runs migrations made only of such statements outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_status_created_at_id ON tasks (user_id, status, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_status_created_at_id ON tasks (status, created_at, id);
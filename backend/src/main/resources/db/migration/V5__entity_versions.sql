@@ -0,0 +1,4 @@
+-- Optimistic locking: every update checks and increments the row version.
+-- A constant default does not rewrite the table on PostgreSQL 11+.
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
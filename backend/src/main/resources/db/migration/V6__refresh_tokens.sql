@@ -0,0 +1,15 @@
+-- Refresh tokens are opaque random values; only their SHA-256 is stored, so a leaked table grants no sessions.
+-- Rotation marks the presented token used and issues the next one in the same family. Used tokens stay until
+-- they expire, so presenting one again is recognised as reuse and revokes the whole family.
+-- No foreign key, as with the tombstones: rows of a deleted user are removed along with it.
+CREATE TABLE refresh_tokens (
+    token_hash VARCHAR(64)  PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    family_id  UUID         NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    used_at    TIMESTAMP(6)
+);
+
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,24 @@
+-- Databases baselined at V1 keep the names Hibernate generated for their unique constraints (uk_<hash>).
+-- Registration tells duplicate usernames from duplicate emails by the names V1 gives them, so adopt those.
+DO $$
+DECLARE
+    unique_constraint RECORD;
+BEGIN
+    FOR unique_constraint IN
+        SELECT c.conname, 'users_' || a.attname || '_key' AS target
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+        WHERE c.conrelid = 'users'::regclass
+          AND c.contype = 'u'
+          AND cardinality(c.conkey) = 1
+          AND a.attname IN ('username', 'email')
+    LOOP
+        -- Also skips a second constraint on a column whose first one was just renamed
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                       WHERE conrelid = 'users'::regclass AND conname = unique_constraint.target) THEN
+            EXECUTE format('ALTER TABLE users RENAME CONSTRAINT %I TO %I',
+                           unique_constraint.conname, unique_constraint.target);
+        END IF;
+    END LOOP;
+END
+$$;
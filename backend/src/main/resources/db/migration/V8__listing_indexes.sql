@@ -0,0 +1,5 @@
+-- The unfiltered per-user and admin listings seek in (created_at, id) order. V1 creates these indexes, but
+-- databases baselined at V1 never run it, so they are created here as well; IF NOT EXISTS skips them elsewhere.
+-- Built concurrently like V4, so writes are not blocked.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_created_at_id ON tasks (user_id, created_at, id);
@@ -0,0 +1,120 @@
+package com.manager.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manager.taskmanager.TaskmanagerApplication;
+import com.manager.taskmanager.dto.TaskRequestDTO;
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.AuthenticatedUser;
+import com.manager.taskmanager.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Creates {@code size} tasks through the full filter chain, once as a loop of single-item requests and once as
+ * a single bulk request, against the in-memory test database. Run like {@link TaskMappingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkTaskCreateBenchmark {
+
+    @Param("1000")
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private TaskRepository taskRepository;
+    private Long userId;
+    private String authorization;
+    private String singleBody;
+    private String bulkBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .profiles("test")
+                .properties("jwt.stateless=true", "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+        taskRepository = context.getBean(TaskRepository.class);
+
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .username("importer")
+                .email("importer@example.com")
+                .password("encodedPassword")
+                .role(Role.USER)
+                .build());
+        userId = user.getId();
+        authorization = "Bearer " + context.getBean(JwtUtil.class).generateToken(
+                new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), user.getRole()));
+
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        List<TaskRequestDTO> dtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dtos.add(TaskRequestDTO.builder().title("Imported " + i).description("Row " + i).build());
+        }
+        singleBody = objectMapper.writeValueAsString(dtos.get(0));
+        bulkBody = objectMapper.writeValueAsString(dtos);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTasks() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void singleItemLoop() throws Exception {
+        for (int i = 0; i < size; i++) {
+            mockMvc.perform(post("/api/users/{userId}/tasks", userId)
+                            .header("Authorization", authorization)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(singleBody))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    @Benchmark
+    public void bulkRequest() throws Exception {
+        mockMvc.perform(post("/api/users/{userId}/tasks/bulk", userId)
+                        .header("Authorization", authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bulkBody))
+                .andExpect(status().isOk());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkTaskCreateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
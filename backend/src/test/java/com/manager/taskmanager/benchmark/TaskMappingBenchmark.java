@@ -0,0 +1,96 @@
+package com.manager.taskmanager.benchmark;
+
+import com.manager.taskmanager.dto.TaskResponseDTO;
+import com.manager.taskmanager.mapper.TaskMapper;
+import com.manager.taskmanager.mapper.TaskMapperImpl;
+import com.manager.taskmanager.mapper.UserMapperImpl;
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a listing of 10k tasks with the generated {@link TaskMapper} and with the ModelMapper setup it replaced.
+ * Not picked up by surefire; JMH forks its own JVM, so run the main method with the full test classpath on
+ * {@code java -cp}, e.g. from {@code mvn dependency:build-classpath -Dmdep.includeScope=test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    @Param("10000")
+    private int size;
+
+    private List<Task> tasks;
+    private TaskMapper taskMapper;
+    private ModelMapper modelMapper;
+
+    @Setup
+    public void setUp() {
+        taskMapper = new TaskMapperImpl(new UserMapperImpl());
+        modelMapper = new ModelMapper();
+
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User user = User.builder()
+                    .id((long) i % 100)
+                    .username("user" + i % 100)
+                    .email("user" + i % 100 + "@example.com")
+                    .password("encodedPassword")
+                    .role(Role.USER)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            tasks.add(Task.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Description " + i)
+                    .status(Status.values()[i % Status.values().length])
+                    .user(user)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        // Resolve the type map once, as the long-lived singleton would have
+        modelMapper.map(tasks.get(0), TaskResponseDTO.class);
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> generatedMapper() {
+        List<TaskResponseDTO> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            result.add(taskMapper.toResponse(task));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> modelMapper() {
+        List<TaskResponseDTO> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            result.add(modelMapper.map(task, TaskResponseDTO.class));
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskMappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,42 @@
+package com.manager.taskmanager.config;
+
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.security.WithMockAuthenticatedUser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Actuator Security Integration Tests")
+class ActuatorSecurityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockAuthenticatedUser
+    @DisplayName("GET /actuator/metrics - Should be forbidden for regular users")
+    void metrics_ForbiddenForUsers() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/{name}", "jvm.memory.used"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
+    @DisplayName("GET /actuator/metrics - Should be available to admins")
+    void metrics_AllowedForAdmins() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isOk());
+    }
+}
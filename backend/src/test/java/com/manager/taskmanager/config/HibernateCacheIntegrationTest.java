@@ -0,0 +1,167 @@
+package com.manager.taskmanager.config;
+
+import com.manager.taskmanager.dto.TaskRequestDTO;
+import com.manager.taskmanager.dto.UserRequestDTO;
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.service.TaskService;
+import com.manager.taskmanager.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Hibernate Second-Level Cache Integration Tests")
+class HibernateCacheIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache cache;
+    private Statistics statistics;
+    private User owner;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.getCache();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = userRepository.save(User.builder()
+                .username("owner")
+                .email("owner@example.com")
+                .password("encodedPassword")
+                .role(Role.USER)
+                .build());
+        task = taskRepository.save(Task.builder()
+                .title("Task")
+                .status(Status.TODO)
+                .user(owner)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups by id and username from the cache")
+    void repeatedLookups_HitCache() {
+        userRepository.findByUsername("owner");
+
+        statistics.clear();
+        assertTrue(userRepository.findById(owner.getId()).isPresent());
+        assertTrue(userRepository.findByUsername("owner").isPresent());
+        assertTrue(taskRepository.findById(task.getId()).isPresent());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("updateUser should replace the cached user and invalidate cached username lookups")
+    void updateUser_RefreshesCache() {
+        userRepository.findByUsername("owner");
+
+        userService.updateUser(owner.getId(), UserRequestDTO.builder()
+                .username("renamed")
+                .email("owner@example.com")
+                .build(), null);
+
+        assertEquals("renamed", userRepository.findById(owner.getId()).orElseThrow().getUsername());
+        assertTrue(userRepository.findByUsername("owner").isEmpty());
+        assertTrue(userRepository.findByUsername("renamed").isPresent());
+    }
+
+    @Test
+    @DisplayName("deleteUser should evict the user and its tasks")
+    void deleteUser_EvictsUserAndTasks() {
+        assertTrue(cache.contains(User.class, owner.getId()));
+        assertTrue(cache.contains(Task.class, task.getId()));
+
+        userService.deleteUser(owner.getId());
+
+        assertTrue(userRepository.findById(owner.getId()).isEmpty());
+        assertTrue(taskRepository.findById(task.getId()).isEmpty());
+        assertTrue(userRepository.findByUsername("owner").isEmpty());
+    }
+
+    @Test
+    @DisplayName("updateTask should replace the cached task")
+    void updateTask_RefreshesCache() {
+        taskService.updateTask(task.getId(), owner.getId(), TaskRequestDTO.builder()
+                .title("Updated")
+                .status(Status.DONE)
+                .build(), null);
+
+        statistics.clear();
+        Task cached = taskRepository.findById(task.getId()).orElseThrow();
+
+        assertEquals("Updated", cached.getTitle());
+        assertEquals(Status.DONE, cached.getStatus());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("deleteTask should evict only the deleted task")
+    void deleteTask_EvictsSingleEntry() {
+        Task other = taskRepository.save(Task.builder()
+                .title("Other")
+                .status(Status.TODO)
+                .user(owner)
+                .build());
+
+        assertTrue(taskService.deleteTask(task.getId(), owner.getId()));
+        assertTrue(taskRepository.findById(task.getId()).isEmpty());
+
+        statistics.clear();
+        assertTrue(taskRepository.findById(other.getId()).isPresent());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should publish hit and miss counts per region")
+    void metrics_PerRegion() {
+        taskRepository.findById(task.getId());
+
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", HibernateCacheConfig.TASKS_REGION, "result", "hit")
+                .functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", HibernateCacheConfig.USERS_REGION, "result", "miss")
+                .functionCounter());
+    }
+}
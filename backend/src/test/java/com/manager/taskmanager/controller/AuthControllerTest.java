@@ -2,11 +2,21 @@ package com.manager.taskmanager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.manager.taskmanager.dto.LoginRequestDTO;
+import com.manager.taskmanager.dto.RefreshRequestDTO;
 import com.manager.taskmanager.dto.RegisterRequestDTO;
+import com.manager.taskmanager.exception.InvalidRefreshTokenException;
+import com.manager.taskmanager.exception.PasswordHashingBusyException;
 import com.manager.taskmanager.model.Role;
 import com.manager.taskmanager.model.User;
 import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.AuthenticatedUser;
+import com.manager.taskmanager.security.JwtTokenCache;
 import com.manager.taskmanager.security.JwtUtil;
+import com.manager.taskmanager.security.RateLimitStore;
+import com.manager.taskmanager.security.TokenRevocationRegistry;
+import com.manager.taskmanager.service.RefreshTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,23 +24,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.sql.SQLException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -54,27 +67,33 @@ class AuthControllerTest {
     @MockBean
     private JwtUtil jwtUtil;
 
+    @MockBean
+    private JwtTokenCache jwtTokenCache;
+
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @MockBean
+    private RateLimitStore rateLimitStore;
+
+    @MockBean
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private AuthenticationManager authenticationManager;
 
     @MockBean
     private UserDetailsService userDetailsService;
 
-    private User testUser;
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
     private RegisterRequestDTO registerRequestDTO;
     private LoginRequestDTO loginRequestDTO;
-    private UserDetails userDetails;
+    private AuthenticatedUser principal;
 
     @BeforeEach
     void setUp() {
-        testUser = User.builder()
-                .id(1L)
-                .username("testuser")
-                .email("test@example.com")
-                .password("encodedPassword")
-                .role(Role.USER)
-                .build();
-
         registerRequestDTO = RegisterRequestDTO.builder()
                 .username("newuser")
                 .email("newuser@example.com")
@@ -87,28 +106,29 @@ class AuthControllerTest {
                 .password("Password123")
                 .build();
 
-        userDetails = org.springframework.security.core.userdetails.User.builder()
-                .username("testuser")
-                .password("encodedPassword")
-                .roles("USER")
-                .build();
+        principal = new AuthenticatedUser(1L, "testuser", "encodedPassword", Role.USER);
+    }
+
+    private static DataIntegrityViolationException duplicate(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException(), constraint));
     }
 
     @Test
     @DisplayName("POST /api/auth/register - Should register user successfully")
     void register_Success() throws Exception {
-        when(userRepository.findByUsername(registerRequestDTO.getUsername()))
-                .thenReturn(Optional.empty());
-        when(userRepository.findByEmail(registerRequestDTO.getEmail()))
-                .thenReturn(Optional.empty());
         when(passwordEncoder.encode(anyString()))
                 .thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class)))
-                .thenReturn(testUser);
-        when(userDetailsService.loadUserByUsername(anyString()))
-                .thenReturn(userDetails);
-        when(jwtUtil.generateToken(any(UserDetails.class), anyString()))
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenAnswer(invocation -> {
+                    User user = invocation.getArgument(0);
+                    user.setId(2L);
+                    return user;
+                });
+        when(jwtUtil.generateToken(any(AuthenticatedUser.class)))
                 .thenReturn("jwt-token");
+        when(refreshTokenService.issue(2L))
+                .thenReturn("refresh-token");
 
         mockMvc.perform(post("/api/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -116,18 +136,23 @@ class AuthControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-token"))
                 .andExpect(jsonPath("$.username").value("newuser"))
                 .andExpect(jsonPath("$.role").value("USER"))
                 .andExpect(jsonPath("$.message").value("Registration successful!"));
 
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
     }
 
     @Test
     @DisplayName("POST /api/auth/register - Should return 400 when username already exists")
     void register_UsernameExists() throws Exception {
-        when(userRepository.findByUsername(registerRequestDTO.getUsername()))
-                .thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode(anyString()))
+                .thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(duplicate(User.USERNAME_CONSTRAINT));
 
         mockMvc.perform(post("/api/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -135,17 +160,15 @@ class AuthControllerTest {
                 .andDo(print())
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Username already exists!"));
-
-        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     @DisplayName("POST /api/auth/register - Should return 400 when email already exists")
     void register_EmailExists() throws Exception {
-        when(userRepository.findByUsername(registerRequestDTO.getUsername()))
-                .thenReturn(Optional.empty());
-        when(userRepository.findByEmail(registerRequestDTO.getEmail()))
-                .thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode(anyString()))
+                .thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(duplicate(User.EMAIL_CONSTRAINT));
 
         mockMvc.perform(post("/api/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -153,8 +176,6 @@ class AuthControllerTest {
                 .andDo(print())
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Email already exists!"));
-
-        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -174,7 +195,7 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors.password").value("Password must contain at least one uppercase letter, one lowercase letter, and one digit"));
 
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -194,7 +215,7 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors.password").exists());
 
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -214,7 +235,7 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors.username").value("Username must be between 3 and 50 characters"));
 
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -234,24 +255,24 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors.email").value("Email should be valid"));
 
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
     @DisplayName("POST /api/auth/login - Should login successfully")
     void login_Success() throws Exception {
         Authentication authentication = new UsernamePasswordAuthenticationToken(
-                userDetails,
+                principal,
                 null,
-                userDetails.getAuthorities()
+                principal.getAuthorities()
         );
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(userRepository.findByUsername(loginRequestDTO.getUsername()))
-                .thenReturn(Optional.of(testUser));
-        when(jwtUtil.generateToken(any(UserDetails.class), anyString()))
+        when(jwtUtil.generateToken(principal))
                 .thenReturn("jwt-token");
+        when(refreshTokenService.issue(1L))
+                .thenReturn("refresh-token");
 
         mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -259,11 +280,13 @@ class AuthControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-token"))
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.role").value("USER"))
                 .andExpect(jsonPath("$.message").value("Login successful!"));
 
         verify(authenticationManager, times(1)).authenticate(any());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -282,6 +305,21 @@ class AuthControllerTest {
         verify(authenticationManager, times(1)).authenticate(any());
     }
 
+    @Test
+    @DisplayName("POST /api/auth/login - Should return 503 with Retry-After when password hashing is saturated")
+    void login_HashingBusy() throws Exception {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new PasswordHashingBusyException("Too many concurrent password checks, retry later",
+                        Duration.ofSeconds(2)));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequestDTO)))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+    }
+
     @Test
     @DisplayName("POST /api/auth/login - Should return 400 when username is blank")
     void login_BlankUsername() throws Exception {
@@ -317,4 +355,54 @@ class AuthControllerTest {
 
         verify(authenticationManager, never()).authenticate(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /api/auth/refresh - Should return a new token pair without checking a password")
+    void refresh_Success() throws Exception {
+        when(refreshTokenService.rotate("refresh-token"))
+                .thenReturn(new RefreshTokenService.Rotation(principal, "next-refresh-token"));
+        when(jwtUtil.generateToken(principal))
+                .thenReturn("jwt-token");
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequestDTO("refresh-token"))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("next-refresh-token"))
+                .andExpect(jsonPath("$.username").value("testuser"))
+                .andExpect(jsonPath("$.message").value("Token refreshed!"));
+
+        verifyNoInteractions(authenticationManager, passwordEncoder);
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh - Should return 401 for an unknown, expired or reused token")
+    void refresh_InvalidToken() throws Exception {
+        when(refreshTokenService.rotate("refresh-token"))
+                .thenThrow(new InvalidRefreshTokenException("Refresh token has already been used"));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequestDTO("refresh-token"))))
+                .andDo(print())
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid refresh token!"));
+
+        verify(jwtUtil, never()).generateToken(any(AuthenticatedUser.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh - Should return 400 when the refresh token is blank")
+    void refresh_BlankToken() throws Exception {
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequestDTO(""))))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.refreshToken").value("Refresh token is required"));
+
+        verifyNoInteractions(refreshTokenService);
+    }
+}
@@ -0,0 +1,233 @@
+package com.manager.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manager.taskmanager.dto.LoginRequestDTO;
+import com.manager.taskmanager.dto.RefreshRequestDTO;
+import com.manager.taskmanager.dto.RegisterRequestDTO;
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.RefreshTokenRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// One above the test profile's strength, so there is a weaker strength left to upgrade from
+@SpringBootTest(properties = {"jwt.stateless=true", "security.password-hashing.strength=5"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Auth Integration Tests")
+class AuthIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private User saveUser(int strength) {
+        return userRepository.save(User.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .password(new BCryptPasswordEncoder(strength).encode("Password123"))
+                .role(Role.USER)
+                .build());
+    }
+
+    private ResultActions register(String username, String email) throws Exception {
+        return mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(RegisterRequestDTO.builder()
+                        .username(username)
+                        .email(email)
+                        .password("Password123")
+                        .build())));
+    }
+
+    private ResultActions login(String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(LoginRequestDTO.builder()
+                        .username("testuser")
+                        .password(password)
+                        .build())));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequestDTO(refreshToken))));
+    }
+
+    private String field(ResultActions result, String name) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString()).get(name).asText();
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/register - Should register with one insert for the user and one for the refresh token")
+    void register_SingleInsert() throws Exception {
+        // Allocates the pooled block of ids, so the next registration needs no sequence call
+        register("firstuser", "first@example.com").andExpect(status().isOk());
+        statistics.clear();
+
+        register("testuser", "test@example.com")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty())
+                .andExpect(jsonPath("$.role", is("USER")));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/register - Should name the duplicate field from the violated constraint")
+    void register_Duplicates() throws Exception {
+        register("testuser", "test@example.com").andExpect(status().isOk());
+
+        register("testuser", "other@example.com")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Username already exists!")));
+        register("otheruser", "test@example.com")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Email already exists!")));
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login - Should load the user once and insert the refresh token")
+    void login_SingleUserLoad() throws Exception {
+        register("testuser", "test@example.com").andExpect(status().isOk());
+        statistics.clear();
+
+        login("Password123")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("testuser")))
+                .andExpect(jsonPath("$.role", is("USER")))
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login - Should rehash a password stored at a lower strength")
+    void login_RehashesOutdatedStrength() throws Exception {
+        User user = saveUser(4);
+
+        login("Password123").andExpect(status().isOk());
+
+        User rehashed = userRepository.findById(user.getId()).orElseThrow();
+        assertTrue(rehashed.getPassword().startsWith("$2a$05$"), rehashed.getPassword());
+        login("Password123").andExpect(status().isOk());
+        assertEquals(rehashed.getVersion(), userRepository.findById(user.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login - Should keep a password stored at a higher strength")
+    void login_KeepsStrongerHash() throws Exception {
+        User user = saveUser(6);
+
+        login("Password123").andExpect(status().isOk());
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(user.getPassword(), stored.getPassword());
+        assertEquals(user.getVersion(), stored.getVersion());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login - Should leave the stored hash alone when the login fails")
+    void login_WrongPasswordNoRehash() throws Exception {
+        User user = saveUser(4);
+
+        login("Wrong1234").andExpect(status().isUnauthorized());
+
+        assertEquals(user.getPassword(), userRepository.findById(user.getId()).orElseThrow().getPassword());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh - Should rotate the refresh token with one lookup and no password check")
+    void refresh_Rotates() throws Exception {
+        String refreshToken = field(register("testuser", "test@example.com").andExpect(status().isOk()), "refreshToken");
+        statistics.clear();
+
+        ResultActions result = refresh(refreshToken)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("testuser")))
+                .andExpect(jsonPath("$.role", is("USER")));
+
+        // Lookup by hash, claim of the old token and insert of its successor; the user comes from the cache
+        assertEquals(3, statistics.getPrepareStatementCount());
+        String next = field(result, "refreshToken");
+        assertNotEquals(refreshToken, next);
+        Long userId = userRepository.findByUsername("testuser").orElseThrow().getId();
+        mockMvc.perform(get("/api/users/" + userId + "/tasks")
+                        .header("Authorization", "Bearer " + field(result, "token")))
+                .andExpect(status().isOk());
+        refresh(next).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh - Should revoke the whole family when a used token is presented again")
+    void refresh_ReuseRevokesFamily() throws Exception {
+        String stolen = field(register("testuser", "test@example.com").andExpect(status().isOk()), "refreshToken");
+        String otherSession = field(login("Password123").andExpect(status().isOk()), "refreshToken");
+        String next = field(refresh(stolen).andExpect(status().isOk()), "refreshToken");
+
+        refresh(stolen)
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message", is("Invalid refresh token!")));
+
+        refresh(next).andExpect(status().isUnauthorized());
+        refresh(otherSession).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh - Should reject unknown tokens")
+    void refresh_UnknownToken() throws Exception {
+        refresh("not-a-refresh-token")
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message", is("Invalid refresh token!")));
+    }
+}
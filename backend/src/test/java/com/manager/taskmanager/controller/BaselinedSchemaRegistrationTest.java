@@ -0,0 +1,131 @@
+package com.manager.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manager.taskmanager.dto.RegisterRequestDTO;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Starts from the schema hibernate.ddl-auto created before the migrations existed, with its generated constraint
+ * names, and checks that duplicate registrations are still answered with 400 once Flyway has baselined it.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Baselined Schema Registration Tests")
+class BaselinedSchemaRegistrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (Exception e) {
+            // e.g. initdb refuses to run as root
+            assumeTrue(false, "Embedded PostgreSQL unavailable: " + e.getMessage());
+        }
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(new ClassPathResource("db/hibernate-schema.sql")
+                    .getContentAsString(StandardCharsets.UTF_8));
+            statement.execute("""
+                    INSERT INTO users (username, email, password, role, created_at, updated_at)
+                    VALUES ('existing', 'existing@example.com', 'password', 'USER', now(), now())
+                    """);
+        }
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    private ResultActions register(String username, String email) throws Exception {
+        return mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(RegisterRequestDTO.builder()
+                        .username(username)
+                        .email(email)
+                        .password("Password123")
+                        .build())));
+    }
+
+    @Test
+    @DisplayName("Should rename the generated unique constraints to the names of the V1 migration")
+    void migrate_RenamesUniqueConstraints() throws Exception {
+        Set<String> names = new HashSet<>();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT conname FROM pg_constraint WHERE conrelid = 'users'::regclass AND contype = 'u'")) {
+            while (rows.next()) {
+                names.add(rows.getString(1));
+            }
+        }
+
+        assertEquals(Set.of("users_username_key", "users_email_key"), names);
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/register - Should reject a duplicate username with 400 on a baselined schema")
+    void register_DuplicateUsername() throws Exception {
+        register("existing", "other@example.com")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Username already exists!")));
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/register - Should reject a duplicate email with 400 on a baselined schema")
+    void register_DuplicateEmail() throws Exception {
+        register("other", "existing@example.com")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Email already exists!")));
+    }
+}
@@ -0,0 +1,175 @@
+package com.manager.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manager.taskmanager.dto.TaskRequestDTO;
+import com.manager.taskmanager.mapper.TaskMapper;
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.AuthenticatedUser;
+import com.manager.taskmanager.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "jwt.stateless=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Conditional Request Integration Tests")
+class ConditionalRequestIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private TaskMapper taskMapper;
+
+    private User owner;
+    private Task task;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("owner")
+                .email("owner@example.com")
+                .password("encodedPassword")
+                .role(Role.USER)
+                .build());
+        task = taskRepository.save(Task.builder()
+                .title("Task")
+                .status(Status.TODO)
+                .user(owner)
+                .build());
+        token = jwtUtil.generateToken(new AuthenticatedUser(
+                owner.getId(), owner.getUsername(), owner.getPassword(), owner.getRole()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private String etagOf(String url, Object... uriVariables) throws Exception {
+        return mockMvc.perform(get(url, uriVariables).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private String update(String ifMatch, String title, int expectedStatus) throws Exception {
+        MockHttpServletRequestBuilder request = put("/api/tasks/{id}", task.getId())
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(TaskRequestDTO.builder().title(title).build()));
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id} - Should answer a matching If-None-Match with 304 before mapping the task")
+    void getTaskById_NotModified() throws Exception {
+        String etag = etagOf("/api/tasks/{id}", task.getId());
+        clearInvocations(taskMapper);
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        verify(taskMapper, never()).toResponse(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("PUT /api/tasks/{id} - Should apply updates carrying the current ETag and reject stale ones with 412")
+    void updateTask_IfMatch() throws Exception {
+        String etag = etagOf("/api/tasks/{id}", task.getId());
+
+        String updatedTag = update(etag, "First", 200);
+        assertNotEquals(etag, updatedTag);
+
+        update(etag, "Second", 412);
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, updatedTag))
+                .andExpect(jsonPath("$.title", is("First")));
+        update(updatedTag, "Second", 200);
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{userId}/tasks - Should return 304 until one of the user's tasks changes")
+    void getTasksByUser_NotModifiedUntilWrite() throws Exception {
+        String etag = etagOf("/api/users/{userId}/tasks", owner.getId());
+
+        mockMvc.perform(get("/api/users/{userId}/tasks", owner.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        update(null, "Renamed", 200);
+
+        mockMvc.perform(get("/api/users/{userId}/tasks", owner.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title", is("Renamed")));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id} - Should answer a matching If-None-Match with 304")
+    void getUserById_NotModified() throws Exception {
+        String etag = etagOf("/api/users/{id}", owner.getId());
+
+        mockMvc.perform(get("/api/users/{id}", owner.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+}
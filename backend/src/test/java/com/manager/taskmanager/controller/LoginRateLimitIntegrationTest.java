@@ -0,0 +1,119 @@
+package com.manager.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manager.taskmanager.dto.LoginRequestDTO;
+import com.manager.taskmanager.dto.RegisterRequestDTO;
+import com.manager.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "jwt.stateless=true",
+        "security.rate-limit.ip.capacity=3",
+        "security.rate-limit.ip.period=1h",
+        "security.rate-limit.username.capacity=2",
+        "security.rate-limit.username.period=1h",
+        "security.rate-limit.max-body-size=1KB"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Login Rate Limit Integration Tests")
+class LoginRateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    // Every test uses its own client address, as buckets outlive the test
+    private ResultActions login(String remoteAddr, String username) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(LoginRequestDTO.builder()
+                        .username(username)
+                        .password("Password123")
+                        .build())));
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login - Should throttle guesses against one username from any address")
+    void login_PerUsernameLimit() throws Exception {
+        login("10.0.0.1", "victim").andExpect(status().isUnauthorized());
+        login("10.0.0.2", "victim").andExpect(status().isUnauthorized());
+
+        login("10.0.0.3", "Victim")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1800"))
+                .andExpect(jsonPath("$.status", is(429)));
+        login("10.0.0.3", "someone").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login, /register - Should throttle one address across usernames and endpoints")
+    void login_PerIpLimit() throws Exception {
+        login("10.0.1.1", "first").andExpect(status().isUnauthorized());
+        login("10.0.1.1", "second").andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/register")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.1.1");
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterRequestDTO.builder()
+                                .username("newuser")
+                                .email("newuser@example.com")
+                                .password("Password123")
+                                .build())))
+                .andExpect(status().isOk());
+
+        login("10.0.1.1", "third")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1200"));
+        login("10.0.1.2", "third").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login - Should reject a body over the size limit without buffering it")
+    void login_BodyTooLarge() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.2.1");
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(LoginRequestDTO.builder()
+                                .username("victim")
+                                .password("x".repeat(2048))
+                                .build())))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.status", is(413)));
+    }
+}
@@ -0,0 +1,260 @@
+package com.manager.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manager.taskmanager.dto.TaskBulkUpdateDTO;
+import com.manager.taskmanager.dto.TaskRequestDTO;
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.AuthenticatedUser;
+import com.manager.taskmanager.security.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "jwt.stateless=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("TaskController Integration Tests")
+class TaskControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+    private User owner;
+    private Task task;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = userRepository.save(User.builder()
+                .username("owner")
+                .email("owner@example.com")
+                .password("encodedPassword")
+                .role(Role.USER)
+                .build());
+
+        task = taskRepository.save(Task.builder()
+                .title("Task")
+                .status(Status.TODO)
+                .user(owner)
+                .build());
+
+        token = jwtUtil.generateToken(new AuthenticatedUser(
+                owner.getId(), owner.getUsername(), owner.getPassword(), owner.getRole()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id} - Should authenticate, authorize and read a cached task without queries")
+    void getTaskById_NoQueries() throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(task.getId().intValue())))
+                .andExpect(jsonPath("$.user.id", is(owner.getId().intValue())));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/tasks/{id} - Should authorize from the cache and only write the tombstone and the delete")
+    void deleteTask_TombstoneAndDeleteOnly() throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(delete("/api/tasks/{id}", task.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        // tombstone insert-select, delete
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertFalse(taskRepository.existsById(task.getId()));
+    }
+
+    @Test
+    @DisplayName("PUT /api/tasks/{id} - Should check If-Match against the cached task and write one versioned update")
+    void updateTask_SingleVersionedUpdate() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+
+        mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskRequestDTO.builder().title("Renamed").build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(1)));
+
+        // update tasks ... where id = ? and version = ?
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/tasks/{id} - Should still tell foreign tasks from missing ones")
+    void deleteTask_ForeignAndMissing() throws Exception {
+        User other = userRepository.save(User.builder()
+                .username("other")
+                .email("other@example.com")
+                .password("encodedPassword")
+                .role(Role.USER)
+                .build());
+        String otherToken = jwtUtil.generateToken(new AuthenticatedUser(
+                other.getId(), other.getUsername(), other.getPassword(), other.getRole()));
+
+        mockMvc.perform(delete("/api/tasks/{id}", task.getId())
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(delete("/api/tasks/{id}", task.getId() + 1000)
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+
+        assertTrue(taskRepository.existsById(task.getId()));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{userId}/tasks - Should walk all pages in creation order with one query and no entity loads each")
+    void getTasksByUser_KeysetPages() throws Exception {
+        List<Long> expected = new ArrayList<>(List.of(task.getId()));
+        for (int i = 0; i < 4; i++) {
+            expected.add(taskRepository.save(Task.builder()
+                    .title("Task " + i)
+                    .status(Status.TODO)
+                    .user(owner)
+                    .build()).getId());
+        }
+        taskRepository.save(Task.builder()
+                .title("Done")
+                .status(Status.DONE)
+                .user(owner)
+                .build());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            var request = get("/api/users/{userId}/tasks", owner.getId())
+                    .param("status", "TODO")
+                    .param("limit", "2")
+                    .header("Authorization", "Bearer " + token);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            JsonNode page = objectMapper.readTree(body);
+            page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+            cursor = page.hasNonNull("next") ? page.get("next").asText() : null;
+
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+        } while (cursor != null);
+
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    @DisplayName("Bulk create, update and delete should each run a constant number of statements")
+    void bulkOperations_ConstantStatements() throws Exception {
+        List<TaskRequestDTO> dtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            dtos.add(TaskRequestDTO.builder().title("Bulk " + i).build());
+        }
+
+        statistics.clear();
+        String body = mockMvc.perform(post("/api/users/{userId}/tasks/bulk", owner.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(120)))
+                .andReturn().getResponse().getContentAsString();
+        // user check, at most 3 sequence calls depending on ids left in the pool, one batched insert
+        assertTrue(statistics.getPrepareStatementCount() <= 5);
+
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(body).get("results").forEach(result -> ids.add(result.get("id").asLong()));
+
+        List<TaskBulkUpdateDTO> updates = ids.stream()
+                .map(id -> new TaskBulkUpdateDTO(id, TaskRequestDTO.builder().title("Done").status(Status.DONE).build()))
+                .toList();
+        statistics.clear();
+        mockMvc.perform(put("/api/tasks/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updates)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(120)));
+        // one select, one batched update
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        mockMvc.perform(delete("/api/tasks/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(120)));
+        // one ownership select, one tombstone insert-select, one delete
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, taskRepository.count());
+    }
+}
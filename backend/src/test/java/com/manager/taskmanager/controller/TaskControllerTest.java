@@ -1,16 +1,31 @@
 package com.manager.taskmanager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manager.taskmanager.dto.BulkItemResultDTO;
+import com.manager.taskmanager.dto.BulkResultDTO;
+import com.manager.taskmanager.dto.TaskImportErrorDTO;
+import com.manager.taskmanager.dto.TaskImportResultDTO;
+import com.manager.taskmanager.dto.TaskPageDTO;
 import com.manager.taskmanager.dto.TaskRequestDTO;
 import com.manager.taskmanager.dto.TaskResponseDTO;
 import com.manager.taskmanager.dto.UserResponseDTO;
 import com.manager.taskmanager.exception.TaskNotFoundException;
 import com.manager.taskmanager.model.Role;
 import com.manager.taskmanager.model.Status;
-import com.manager.taskmanager.model.User;
-import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.security.JwtTokenCache;
 import com.manager.taskmanager.security.JwtUtil;
+import com.manager.taskmanager.security.RateLimitStore;
+import com.manager.taskmanager.security.TokenRevocationRegistry;
+import com.manager.taskmanager.security.WithMockAuthenticatedUser;
+import com.manager.taskmanager.service.TaskBulkService;
+import com.manager.taskmanager.service.TaskDataFormat;
+import com.manager.taskmanager.service.TaskEventBus;
+import com.manager.taskmanager.service.TaskExportService;
+import com.manager.taskmanager.service.TaskImportService;
 import com.manager.taskmanager.service.TaskService;
+import com.manager.taskmanager.service.TaskSyncService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,9 +33,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +45,7 @@ import java.util.Optional;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -48,32 +66,34 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
     @MockBean
+    private TaskBulkService taskBulkService;
+    @MockBean
+    private TaskExportService taskExportService;
+    @MockBean
+    private TaskImportService taskImportService;
+    @MockBean
+    private TaskSyncService taskSyncService;
+    @MockBean
+    private TaskEventBus taskEventBus;
+    @MockBean
     private JwtUtil jwtUtil;
     @MockBean
-    private UserRepository userRepository;
+    private JwtTokenCache jwtTokenCache;
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @MockBean
+    private RateLimitStore rateLimitStore;
+
+    @MockBean
+    private MeterRegistry meterRegistry;
 
     private TaskRequestDTO taskRequestDTO;
     private TaskResponseDTO taskResponseDTO;
     private UserResponseDTO userResponseDTO;
-    private User testUser;
-    private User adminUser;
 
     @BeforeEach
     void setUp() {
-        testUser = User.builder()
-                .id(1L)
-                .username("testuser")
-                .email("test@example.com")
-                .role(Role.USER)
-                .build();
-
-        adminUser = User.builder()
-                .id(99L)
-                .username("admin")
-                .email("admin@example.com")
-                .role(Role.ADMIN)
-                .build();
-
         taskRequestDTO = TaskRequestDTO.builder()
                 .title("New Task")
                 .description("Task Description")
@@ -99,12 +119,10 @@ class TaskControllerTest {
 
     @Test
     @DisplayName("POST /api/users/{userId}/tasks - Should create task successfully")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void createTask_Success() throws Exception {
         Long userId = 1L;
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
         when(taskService.createTask(eq(userId), any(TaskRequestDTO.class)))
                 .thenReturn(taskResponseDTO);
 
@@ -127,12 +145,10 @@ class TaskControllerTest {
 
     @Test
     @DisplayName("POST /api/users/{userId}/tasks - Should return 403 when user tries to create task for another user")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void createTask_Forbidden() throws Exception {
         Long otherUserId = 2L;
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
 
         mockMvc.perform(post("/api/users/{userId}/tasks", otherUserId)
                         .with(csrf())
@@ -147,12 +163,10 @@ class TaskControllerTest {
 
     @Test
     @DisplayName("POST /api/users/{userId}/tasks - Admin should be able to create task for any user")
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
     void createTask_Admin() throws Exception {
         Long userId = 1L;
 
-        when(userRepository.findByUsername("admin"))
-                .thenReturn(Optional.of(adminUser));
         when(taskService.createTask(eq(userId), any(TaskRequestDTO.class)))
                 .thenReturn(taskResponseDTO);
 
@@ -168,7 +182,7 @@ class TaskControllerTest {
 
     @Test
     @DisplayName("GET /api/tasks - Should return all tasks for admin")
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
     void getAllTasks_Success() throws Exception {
         UserResponseDTO user2 = UserResponseDTO.builder()
                 .id(2L)
@@ -181,57 +195,71 @@ class TaskControllerTest {
                 .user(user2)
                 .build();
 
-        List<TaskResponseDTO> tasks = Arrays.asList(taskResponseDTO, task2);
+        TaskPageDTO page = new TaskPageDTO(Arrays.asList(taskResponseDTO, task2), "next-cursor");
 
-        when(taskService.getAllTasks()).thenReturn(tasks);
+        when(taskService.getAllTasks(Status.TODO, "cursor", 2)).thenReturn(page);
 
         mockMvc.perform(get("/api/tasks")
+                        .param("status", "TODO")
+                        .param("cursor", "cursor")
+                        .param("limit", "2")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is(1)))
-                .andExpect(jsonPath("$[0].title", is("New Task")))
-                .andExpect(jsonPath("$[0].user.id", is(1)))
-                .andExpect(jsonPath("$[1].id", is(2)))
-                .andExpect(jsonPath("$[1].title", is("Task 2")))
-                .andExpect(jsonPath("$[1].user.id", is(2)));
-
-        verify(taskService, times(1)).getAllTasks();
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.items[0].title", is("New Task")))
+                .andExpect(jsonPath("$.items[0].user.id", is(1)))
+                .andExpect(jsonPath("$.items[1].id", is(2)))
+                .andExpect(jsonPath("$.items[1].title", is("Task 2")))
+                .andExpect(jsonPath("$.items[1].user.id", is(2)))
+                .andExpect(jsonPath("$.next", is("next-cursor")));
+
+        verify(taskService, times(1)).getAllTasks(Status.TODO, "cursor", 2);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks - Should return 400 for an unknown status filter")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
+    void getAllTasks_InvalidStatus() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "BOGUS")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).getAllTasks(any(), any(), any());
     }
 
     @Test
     @DisplayName("GET /api/users/{userId}/tasks - Should return user's tasks")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void getTasksByUser_Success() throws Exception {
         Long userId = 1L;
-        List<TaskResponseDTO> tasks = Arrays.asList(taskResponseDTO);
+        TaskPageDTO page = new TaskPageDTO(Arrays.asList(taskResponseDTO), null);
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
-        when(taskService.getTasksByUser(userId))
-                .thenReturn(tasks);
+        when(taskService.getTasksByUser(userId, null, null, null))
+                .thenReturn(page);
 
         mockMvc.perform(get("/api/users/{userId}/tasks", userId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id", is(1)))
-                .andExpect(jsonPath("$[0].title", is("New Task")))
-                .andExpect(jsonPath("$[0].user.id", is(1)));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.items[0].title", is("New Task")))
+                .andExpect(jsonPath("$.items[0].user.id", is(1)))
+                .andExpect(jsonPath("$.next").doesNotExist());
 
-        verify(taskService, times(1)).getTasksByUser(userId);
+        verify(taskService, times(1)).getTasksByUser(userId, null, null, null);
     }
 
     @Test
     @DisplayName("GET /api/users/{userId}/tasks - Should return 403 when user tries to view another user's tasks")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void getTasksByUser_Forbidden() throws Exception {
         Long otherUserId = 2L;
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
 
         mockMvc.perform(get("/api/users/{userId}/tasks", otherUserId)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -239,21 +267,17 @@ class TaskControllerTest {
                 .andExpect(status().isForbidden())
                 .andExpect(content().string("You can only view your own tasks!"));
 
-        verify(taskService, never()).getTasksByUser(any());
+        verify(taskService, never()).getTasksByUser(any(), any(), any(), any());
     }
 
     @Test
     @DisplayName("GET /api/tasks/{id} - Should return task by ID")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void getTaskById_Success() throws Exception {
         Long taskId = 1L;
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
-        when(taskService.getTaskOwnerId(taskId))
-                .thenReturn(1L);
-        when(taskService.getTaskById(taskId))
-                .thenReturn(taskResponseDTO);
+        when(taskService.findTaskById(taskId, 1L))
+                .thenReturn(Optional.of(taskResponseDTO));
 
         mockMvc.perform(get("/api/tasks/{id}", taskId)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -263,16 +287,18 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.title", is("New Task")))
                 .andExpect(jsonPath("$.user.id", is(1)));
 
-        verify(taskService, times(1)).getTaskOwnerId(taskId);
-        verify(taskService, times(1)).getTaskById(taskId);
+        verify(taskService, times(1)).findTaskById(taskId, 1L);
+        verify(taskService, never()).getTaskOwnerId(any());
     }
 
     @Test
     @DisplayName("GET /api/tasks/{id} - Should return 404 when task not found")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void getTaskById_NotFound() throws Exception {
         Long taskId = 999L;
 
+        when(taskService.findTaskById(taskId, 1L))
+                .thenReturn(Optional.empty());
         when(taskService.getTaskOwnerId(taskId))
                 .thenThrow(new TaskNotFoundException("Task not found with id: " + taskId));
 
@@ -284,14 +310,14 @@ class TaskControllerTest {
 
     @Test
     @DisplayName("GET /api/tasks/{id} - Should return 403 when user tries to view another user's task")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void getTaskById_Forbidden() throws Exception {
         Long taskId = 1L;
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
+        when(taskService.findTaskById(taskId, 1L))
+                .thenReturn(Optional.empty());  // Different user owns this task
         when(taskService.getTaskOwnerId(taskId))
-                .thenReturn(2L);  // Different user owns this task
+                .thenReturn(2L);
 
         mockMvc.perform(get("/api/tasks/{id}", taskId)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -300,12 +326,11 @@ class TaskControllerTest {
                 .andExpect(content().string("You can only view your own tasks!"));
 
         verify(taskService, times(1)).getTaskOwnerId(taskId);
-        verify(taskService, never()).getTaskById(any());
     }
 
     @Test
     @DisplayName("PUT /api/tasks/{id} - Should update task successfully")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void updateTask_Success() throws Exception {
         Long taskId = 1L;
 
@@ -323,12 +348,8 @@ class TaskControllerTest {
                 .user(userResponseDTO)
                 .build();
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
-        when(taskService.getTaskOwnerId(taskId))
-                .thenReturn(1L);
-        when(taskService.updateTask(eq(taskId), any(TaskRequestDTO.class)))
-                .thenReturn(updatedResponse);
+        when(taskService.updateTask(eq(taskId), eq(1L), any(TaskRequestDTO.class), isNull()))
+                .thenReturn(Optional.of(updatedResponse));
 
         mockMvc.perform(put("/api/tasks/{id}", taskId)
                         .with(csrf())
@@ -341,17 +362,17 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.status", is("DONE")))
                 .andExpect(jsonPath("$.user.id", is(1)));
 
-        verify(taskService, times(1)).updateTask(eq(taskId), any(TaskRequestDTO.class));
+        verify(taskService, times(1)).updateTask(eq(taskId), eq(1L), any(TaskRequestDTO.class), isNull());
     }
 
     @Test
     @DisplayName("PUT /api/tasks/{id} - Should return 403 when updating another user's task")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void updateTask_Forbidden() throws Exception {
         Long taskId = 1L;
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
+        when(taskService.updateTask(eq(taskId), eq(1L), any(TaskRequestDTO.class), isNull()))
+                .thenReturn(Optional.empty());
         when(taskService.getTaskOwnerId(taskId))
                 .thenReturn(2L);
 
@@ -362,38 +383,52 @@ class TaskControllerTest {
                 .andDo(print())
                 .andExpect(status().isForbidden())
                 .andExpect(content().string("You can only update your own tasks!"));
+    }
+
+    @Test
+    @DisplayName("PUT /api/tasks/{id} - Should return 409 when a concurrent update wins")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
+    void updateTask_Conflict() throws Exception {
+        Long taskId = 1L;
+
+        when(taskService.updateTask(eq(taskId), eq(1L), any(TaskRequestDTO.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, taskId));
 
-        verify(taskService, never()).updateTask(any(), any());
+        mockMvc.perform(put("/api/tasks/{id}", taskId)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskRequestDTO)))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status", is(409)));
     }
 
     @Test
     @DisplayName("DELETE /api/tasks/{id} - Should delete task successfully")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void deleteTask_Success() throws Exception {
         Long taskId = 1L;
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
-        when(taskService.getTaskOwnerId(taskId))
-                .thenReturn(1L);
-        doNothing().when(taskService).deleteTask(taskId);
+        when(taskService.deleteTask(taskId, 1L))
+                .thenReturn(true);
 
         mockMvc.perform(delete("/api/tasks/{id}", taskId)
                         .with(csrf()))
                 .andDo(print())
                 .andExpect(status().isNoContent());
 
-        verify(taskService, times(1)).deleteTask(taskId);
+        verify(taskService, times(1)).deleteTask(taskId, 1L);
+        verify(taskService, never()).getTaskOwnerId(any());
     }
 
     @Test
     @DisplayName("DELETE /api/tasks/{id} - Should return 403 when deleting another user's task")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void deleteTask_Forbidden() throws Exception {
         Long taskId = 1L;
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
+        when(taskService.deleteTask(taskId, 1L))
+                .thenReturn(false);
         when(taskService.getTaskOwnerId(taskId))
                 .thenReturn(2L);
 
@@ -402,22 +437,16 @@ class TaskControllerTest {
                 .andDo(print())
                 .andExpect(status().isForbidden())
                 .andExpect(content().string("You can only delete your own tasks!"));
-
-        verify(taskService, never()).deleteTask(any());
     }
 
     @Test
     @DisplayName("Admin should be able to access any task")
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
     void adminCanAccessAnyTask() throws Exception {
         Long taskId = 1L;
 
-        when(userRepository.findByUsername("admin"))
-                .thenReturn(Optional.of(adminUser));
-        when(taskService.getTaskOwnerId(taskId))
-                .thenReturn(1L);
-        when(taskService.getTaskById(taskId))
-                .thenReturn(taskResponseDTO);
+        when(taskService.findTaskById(taskId, null))
+                .thenReturn(Optional.of(taskResponseDTO));
 
         mockMvc.perform(get("/api/tasks/{id}", taskId)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -426,4 +455,157 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.user.id", is(1)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /api/users/{userId}/tasks/bulk - Should return per-item results")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
+    void createTasks_Success() throws Exception {
+        BulkResultDTO result = new BulkResultDTO(1, 1, List.of(
+                new BulkItemResultDTO(0, 10L, 201, null),
+                new BulkItemResultDTO(1, null, 400, "title: Title is required")
+        ));
+
+        when(taskBulkService.createTasks(eq(1L), anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/users/{userId}/tasks/bulk", 1L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskRequestDTO, new TaskRequestDTO()))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.results[0].id", is(10)))
+                .andExpect(jsonPath("$.results[0].status", is(201)))
+                .andExpect(jsonPath("$.results[1].status", is(400)))
+                .andExpect(jsonPath("$.results[1].id").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/users/{userId}/tasks/bulk - Should return 403 for another user's tasks")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
+    void createTasks_Forbidden() throws Exception {
+        mockMvc.perform(post("/api/users/{userId}/tasks/bulk", 2L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskRequestDTO))))
+                .andDo(print())
+                .andExpect(status().isForbidden());
+
+        verify(taskBulkService, never()).createTasks(any(), any());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/tasks/bulk - Should scope deletes to the caller")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
+    void deleteTasks_OwnerScoped() throws Exception {
+        when(taskBulkService.deleteTasks(eq(1L), eq(List.of(1L, 2L))))
+                .thenReturn(new BulkResultDTO(2, 0, List.of(
+                        new BulkItemResultDTO(0, 1L, 204, null),
+                        new BulkItemResultDTO(1, 2L, 204, null)
+                )));
+
+        mockMvc.perform(delete("/api/tasks/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(2)));
+
+        verify(taskBulkService, times(1)).deleteTasks(1L, List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/export - Should stream the requested format with gzip when accepted")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
+    void exportTasks_GzipCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/export")
+                        .param("format", "csv")
+                        .param("status", "DONE")
+                        .param("userId", "1")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv\""));
+
+        verify(taskExportService, times(1)).export(eq(1L), eq(Status.DONE), eq(TaskDataFormat.CSV), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/users/{userId}/tasks/import - Should pick the format from the content type")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
+    void importTasks_Csv() throws Exception {
+        when(taskImportService.importTasks(eq(1L), eq(TaskDataFormat.CSV), any()))
+                .thenReturn(new TaskImportResultDTO(1, 1, List.of(new TaskImportErrorDTO(2, "title: Title is required"))));
+
+        mockMvc.perform(post("/api/users/{userId}/tasks/import", 1L)
+                        .with(csrf())
+                        .contentType("text/csv;charset=UTF-8")
+                        .content("title\r\nFirst\r\n\r\n"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].record", is(2)));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/{userId}/tasks/import - Should return 403 for another user's tasks")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
+    void importTasks_Forbidden() throws Exception {
+        mockMvc.perform(post("/api/users/{userId}/tasks/import", 2L)
+                        .with(csrf())
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"Task\"}\n"))
+                .andExpect(status().isForbidden());
+
+        verify(taskImportService, never()).importTasks(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/users/{userId}/tasks/import - Should reject unsupported content types")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
+    void importTasks_UnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/api/users/{userId}/tasks/import", 1L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{userId}/tasks/events - Should stream the user's task events")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
+    void streamTaskEvents_Success() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("event: deleted\ndata: {\"taskId\":1}\n\n".getBytes());
+            return null;
+        }).when(taskEventBus).stream(eq(1L), any());
+
+        MvcResult result = mockMvc.perform(get("/api/users/{userId}/tasks/events", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.TEXT_EVENT_STREAM_VALUE))
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(content().string("event: deleted\ndata: {\"taskId\":1}\n\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{userId}/tasks/events - Should return 403 for another user's tasks")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
+    void streamTaskEvents_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/users/{userId}/tasks/events", 2L))
+                .andExpect(status().isForbidden());
+
+        verify(taskEventBus, never()).stream(any(), any());
+    }
+}
@@ -0,0 +1,148 @@
+package com.manager.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.AuthenticatedUser;
+import com.manager.taskmanager.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"jwt.stateless=true", "tasks.export.fetch-size=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Task Export Integration Tests")
+class TaskExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User owner;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("owner")
+                .email("owner@example.com")
+                .password("encodedPassword")
+                .role(Role.USER)
+                .build());
+        User other = userRepository.save(User.builder()
+                .username("other")
+                .email("other@example.com")
+                .password("encodedPassword")
+                .role(Role.USER)
+                .build());
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(Task.builder().title("Todo " + i).status(Status.TODO).user(owner).build());
+        }
+        tasks.add(Task.builder().title("Done, \"quoted\"").description("line one\nline two").status(Status.DONE).user(owner).build());
+        tasks.add(Task.builder().title("Foreign").status(Status.TODO).user(other).build());
+        taskRepository.saveAll(tasks);
+
+        adminToken = jwtUtil.generateToken(new AuthenticatedUser(999L, "admin", "", Role.ADMIN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private MvcResult export(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request.header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    @Test
+    @DisplayName("Should stream one JSON object per line in creation order, filtered by user and status")
+    void export_Ndjson() throws Exception {
+        MvcResult result = export(get("/api/tasks/export")
+                .param("userId", owner.getId().toString())
+                .param("status", "TODO"));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(5, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode task = objectMapper.readTree(lines[i]);
+            assertEquals("Todo " + i, task.get("title").asText());
+            assertEquals(owner.getId(), task.get("user").get("id").asLong());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream gzip-compressed CSV with quoted fields")
+    void export_GzipCsv() throws Exception {
+        MvcResult result = export(get("/api/tasks/export")
+                .param("format", "csv")
+                .param("status", "DONE")
+                .header("Accept-Encoding", "gzip"));
+
+        assertEquals("gzip", result.getResponse().getHeader("Content-Encoding"));
+        byte[] compressed = result.getResponse().getContentAsByteArray();
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        String[] lines = csv.split("\r\n");
+        assertEquals(2, lines.length);
+        assertEquals("id,title,description,status,createdAt,updatedAt,userId,username", lines[0]);
+        assertEquals(true, lines[1].contains(",\"Done, \"\"quoted\"\"\",\"line one\nline two\",DONE,"));
+    }
+
+    @Test
+    @DisplayName("Should reject non-admin users before streaming anything")
+    void export_Forbidden() throws Exception {
+        String userToken = jwtUtil.generateToken(new AuthenticatedUser(
+                owner.getId(), owner.getUsername(), owner.getPassword(), owner.getRole()));
+
+        mockMvc.perform(get("/api/tasks/export").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+}
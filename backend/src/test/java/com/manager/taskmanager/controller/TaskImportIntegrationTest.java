@@ -0,0 +1,198 @@
+package com.manager.taskmanager.controller;
+
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.AuthenticatedUser;
+import com.manager.taskmanager.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "jwt.stateless=true",
+        "tasks.import.batch-size=2",
+        "tasks.import.max-errors=2",
+        "tasks.import.max-record-length=200"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Task Import Integration Tests")
+class TaskImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User owner;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("owner")
+                .email("owner@example.com")
+                .password("encodedPassword")
+                .role(Role.USER)
+                .build());
+        token = jwtUtil.generateToken(new AuthenticatedUser(
+                owner.getId(), owner.getUsername(), owner.getPassword(), owner.getRole()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private List<Task> importedTasks() {
+        return taskRepository.findAll().stream()
+                .sorted(Comparator.comparing(Task::getId))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Should insert valid NDJSON records across batches and report rejected lines")
+    void import_Ndjson() throws Exception {
+        String body = """
+                {"title":"First","status":"IN_PROGRESS"}
+                {"title":"Second"}
+                {"title":
+                {"title":""}
+
+                {"title":"Third","description":"%s"}
+                {"title":"Fourth"}
+                {"title":"Fifth"}
+                """.formatted("x".repeat(300));
+
+        mockMvc.perform(post("/api/users/{userId}/tasks/import", owner.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(4)))
+                .andExpect(jsonPath("$.rejected", is(3)))
+                .andExpect(jsonPath("$.errors", hasSize(2)))
+                .andExpect(jsonPath("$.errors[0].record", is(3)))
+                .andExpect(jsonPath("$.errors[0].error", startsWith("Malformed JSON")))
+                .andExpect(jsonPath("$.errors[1].record", is(4)))
+                .andExpect(jsonPath("$.errors[1].error", is("title: Title is required")));
+
+        List<Task> tasks = importedTasks();
+        assertEquals(List.of("First", "Second", "Fourth", "Fifth"), tasks.stream().map(Task::getTitle).toList());
+        assertEquals(Status.IN_PROGRESS, tasks.get(0).getStatus());
+        assertEquals(Status.TODO, tasks.get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report NDJSON lines that are not objects and keep importing")
+    void import_NdjsonNonObject() throws Exception {
+        String body = """
+                {"title":"First"}
+                null
+                [1, 2]
+                {"title":"Second"}
+                {"title":"Third"}
+                """;
+
+        mockMvc.perform(post("/api/users/{userId}/tasks/import", owner.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(3)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.errors[0].record", is(2)))
+                .andExpect(jsonPath("$.errors[0].error", is("Record must be a JSON object")))
+                .andExpect(jsonPath("$.errors[1].record", is(3)))
+                .andExpect(jsonPath("$.errors[1].error", is("Record must be a JSON object")));
+
+        assertEquals(List.of("First", "Second", "Third"), importedTasks().stream().map(Task::getTitle).toList());
+    }
+
+    @Test
+    @DisplayName("Should read exported CSV with quoted separators and line breaks")
+    void import_Csv() throws Exception {
+        String body = "id,title,description,status,createdAt,updatedAt,userId,username\r\n"
+                + "7,\"Done, \"\"quoted\"\"\",\"line one\nline two\",DONE,2024-01-01T00:00:00,,1,other\r\n"
+                + "8,Plain,,TODO,,,1,other\r\n"
+                + "9,Unknown,,LATER,,,1,other\r\n";
+
+        mockMvc.perform(post("/api/users/{userId}/tasks/import", owner.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv;charset=UTF-8")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(2)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].record", is(3)))
+                .andExpect(jsonPath("$.errors[0].error", is("Unknown status: LATER")));
+
+        List<Task> tasks = importedTasks();
+        assertEquals(2, tasks.size());
+        assertEquals("Done, \"quoted\"", tasks.get(0).getTitle());
+        assertEquals("line one\nline two", tasks.get(0).getDescription());
+        assertEquals(Status.DONE, tasks.get(0).getStatus());
+        assertEquals(owner.getId(), taskRepository.findOwnerIdById(tasks.get(1).getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should count separators toward the maximum CSV record length")
+    void import_CsvRecordOfSeparators() throws Exception {
+        String body = "title,status\r\n"
+                + "Flood" + ",".repeat(100_000) + "\r\n"
+                + "Plain,TODO\r\n";
+
+        mockMvc.perform(post("/api/users/{userId}/tasks/import", owner.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].record", is(1)))
+                .andExpect(jsonPath("$.errors[0].error", is("Record exceeds 200 characters")));
+
+        assertEquals(List.of("Plain"), importedTasks().stream().map(Task::getTitle).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject CSV input without a title column")
+    void import_CsvWithoutTitle() throws Exception {
+        mockMvc.perform(post("/api/users/{userId}/tasks/import", owner.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content("description\r\nSomething\r\n"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, taskRepository.count());
+    }
+}
@@ -0,0 +1,164 @@
+package com.manager.taskmanager.controller;
+
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.AuthenticatedUser;
+import com.manager.taskmanager.security.JwtUtil;
+import com.manager.taskmanager.service.TaskListingCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards against N+1 owner loads: every listing must cost the same number of statements whether a page
+ * holds a handful of tasks or many tasks spread across many owners.
+ */
+@SpringBootTest(properties = "jwt.stateless=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Task Listing Statement Count Tests")
+class TaskListingStatementCountTest {
+
+    private static final int MAX_STATEMENTS = 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskListingCache taskListingCache;
+
+    private Statistics statistics;
+    private final List<User> owners = new ArrayList<>();
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < 10; i++) {
+            owners.add(userRepository.save(User.builder()
+                    .username("owner" + i)
+                    .email("owner" + i + "@example.com")
+                    .password("encodedPassword")
+                    .role(Role.USER)
+                    .build()));
+        }
+        adminToken = jwtUtil.generateToken(new AuthenticatedUser(999L, "admin", "", Role.ADMIN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        owners.clear();
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks - Statement count should not grow with rows or owners")
+    void getAllTasks_ConstantStatements() throws Exception {
+        seedTasks(1);
+        long small = statementsFor(get("/api/tasks").param("limit", "100"), owners.size());
+
+        seedTasks(5);
+        long large = statementsFor(get("/api/tasks").param("limit", "100"), owners.size() * 6);
+
+        assertEquals(small, large);
+        assertEquals(MAX_STATEMENTS, large);
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{userId}/tasks - Statement count should not grow with rows")
+    void getTasksByUser_ConstantStatements() throws Exception {
+        Long ownerId = owners.get(0).getId();
+
+        seedTasks(1);
+        long small = statementsFor(get("/api/users/{userId}/tasks", ownerId).param("limit", "100"), 1);
+
+        seedTasks(20);
+        // Seeded through the repository, which bypasses the listing cache eviction of TaskService
+        taskListingCache.evictAfterCommit(ownerId);
+        long large = statementsFor(get("/api/users/{userId}/tasks", ownerId).param("limit", "100"), 21);
+
+        assertEquals(small, large);
+        assertEquals(MAX_STATEMENTS, large);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id} - Cold reads load task and owner by id, warm reads hit the second-level cache")
+    void getTaskById_OwnerLoadedById() throws Exception {
+        seedTasks(1);
+        Long taskId = taskRepository.findAll().get(0).getId();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics.clear();
+        readTask(taskId);
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        readTask(taskId);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private void readTask(Long taskId) throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", taskId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.username").exists());
+    }
+
+    private void seedTasks(int perOwner) {
+        List<Task> tasks = new ArrayList<>();
+        for (User owner : owners) {
+            for (int i = 0; i < perOwner; i++) {
+                tasks.add(Task.builder()
+                        .title("Task " + i)
+                        .status(Status.TODO)
+                        .user(owner)
+                        .build());
+            }
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    private long statementsFor(MockHttpServletRequestBuilder request, int expectedItems) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request.header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(expectedItems)));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,191 @@
+package com.manager.taskmanager.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.TaskTombstoneRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.AuthenticatedUser;
+import com.manager.taskmanager.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "jwt.stateless=true",
+        "tasks.sync.max-size=2",
+        "tasks.sync.settle-time=0s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Task Sync Integration Tests")
+class TaskSyncIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User owner;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("owner")
+                .email("owner@example.com")
+                .password("encodedPassword")
+                .role(Role.USER)
+                .build());
+        token = jwtUtil.generateToken(new AuthenticatedUser(
+                owner.getId(), owner.getUsername(), owner.getPassword(), owner.getRole()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskTombstoneRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Task saveTask(String title) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .status(Status.TODO)
+                .user(owner)
+                .build());
+    }
+
+    private ResultActions sync(String since) throws Exception {
+        return mockMvc.perform(get("/api/users/{userId}/tasks/changes", owner.getId())
+                .header("Authorization", "Bearer " + token)
+                .param("since", since));
+    }
+
+    private String watermarkOf(ResultActions result) throws Exception {
+        return JsonPath.read(result.andReturn().getResponse().getContentAsString(), "$.watermark");
+    }
+
+    @Test
+    @DisplayName("Should page through all tasks first and then return only changes and deletions")
+    void sync_ChangesSinceWatermark() throws Exception {
+        Task first = saveTask("First");
+        Task second = saveTask("Second");
+        Task third = saveTask("Third");
+
+        ResultActions firstPage = sync(null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[*].title", contains("First", "Second")))
+                .andExpect(jsonPath("$.deleted", empty()))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+        ResultActions lastPage = sync(watermarkOf(firstPage))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[*].title", contains("Third")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+        String watermark = watermarkOf(lastPage);
+
+        sync(watermark)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed", empty()))
+                .andExpect(jsonPath("$.deleted", empty()));
+
+        mockMvc.perform(put("/api/tasks/{id}", first.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"First, renamed\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tasks/{id}", second.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/tasks/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + third.getId() + "]"))
+                .andExpect(status().isOk());
+
+        sync(watermark)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[*].title", contains("First, renamed")))
+                .andExpect(jsonPath("$.deleted", containsInAnyOrder(
+                        second.getId().intValue(), third.getId().intValue())))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    @DisplayName("Should not report deletions of other users' tasks")
+    void sync_OnlyOwnDeletions() throws Exception {
+        User other = userRepository.save(User.builder()
+                .username("other")
+                .email("other@example.com")
+                .password("encodedPassword")
+                .role(Role.USER)
+                .build());
+        Task foreign = taskRepository.save(Task.builder()
+                .title("Foreign")
+                .status(Status.TODO)
+                .user(other)
+                .build());
+        String watermark = watermarkOf(sync(null));
+
+        String otherToken = jwtUtil.generateToken(new AuthenticatedUser(
+                other.getId(), other.getUsername(), other.getPassword(), other.getRole()));
+        mockMvc.perform(delete("/api/tasks/{id}", foreign.getId())
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNoContent());
+
+        sync(watermark)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", empty()));
+    }
+
+    @Test
+    @DisplayName("Should answer 410 when the watermark predates the tombstone retention")
+    void sync_ExpiredWatermark() throws Exception {
+        String expired = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "2000-01-01T00:00|1|2000-01-01T00:00|1".getBytes(StandardCharsets.UTF_8));
+
+        sync(expired)
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed watermarks")
+    void sync_InvalidWatermark() throws Exception {
+        sync("not-a-watermark")
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -5,10 +5,13 @@ import com.manager.taskmanager.dto.UserRequestDTO;
 import com.manager.taskmanager.dto.UserResponseDTO;
 import com.manager.taskmanager.exception.UserNotFoundException;
 import com.manager.taskmanager.model.Role;
-import com.manager.taskmanager.model.User;
-import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.JwtTokenCache;
 import com.manager.taskmanager.security.JwtUtil;
+import com.manager.taskmanager.security.RateLimitStore;
+import com.manager.taskmanager.security.TokenRevocationRegistry;
+import com.manager.taskmanager.security.WithMockAuthenticatedUser;
 import com.manager.taskmanager.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,17 +19,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -48,31 +50,22 @@ class UserControllerTest {
 
     @MockBean
     private JwtUtil jwtUtil;
+    @MockBean
+    private JwtTokenCache jwtTokenCache;
+    @MockBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @MockBean
+    private RateLimitStore rateLimitStore;
 
     @MockBean
-    private UserRepository userRepository;
+    private MeterRegistry meterRegistry;
 
     private UserRequestDTO userRequestDTO;
     private UserResponseDTO userResponseDTO;
-    private User testUser;
-    private User adminUser;
 
     @BeforeEach
     void setUp() {
-        testUser = User.builder()
-                .id(1L)
-                .username("testuser")
-                .email("test@example.com")
-                .role(Role.USER)
-                .build();
-
-        adminUser = User.builder()
-                .id(99L)
-                .username("admin")
-                .email("admin@example.com")
-                .role(Role.ADMIN)
-                .build();
-
         userRequestDTO = UserRequestDTO.builder()
                 .username("newuser")
                 .email("newuser@example.com")
@@ -88,7 +81,7 @@ class UserControllerTest {
 
     @Test
     @DisplayName("POST /api/users - Admin should create user successfully")
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
     void createUser_Success() throws Exception {
         when(userService.createUser(any(UserRequestDTO.class)))
                 .thenReturn(userResponseDTO);
@@ -108,7 +101,7 @@ class UserControllerTest {
 
     @Test
     @DisplayName("POST /api/users - Should return 400 when password is invalid")
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
     void createUser_InvalidPassword() throws Exception {
         UserRequestDTO invalidDTO = UserRequestDTO.builder()
                 .username("newuser")
@@ -129,7 +122,7 @@ class UserControllerTest {
 
     @Test
     @DisplayName("GET /api/users - Admin should get all users")
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
     void getAllUsers_Success() throws Exception {
         UserResponseDTO user2 = UserResponseDTO.builder()
                 .id(2L)
@@ -156,12 +149,10 @@ class UserControllerTest {
 
     @Test
     @DisplayName("GET /api/users/{id} - User should get own profile")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void getUserById_OwnProfile() throws Exception {
         Long userId = 1L;
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
         when(userService.getUserById(userId))
                 .thenReturn(userResponseDTO);
 
@@ -177,12 +168,10 @@ class UserControllerTest {
 
     @Test
     @DisplayName("GET /api/users/{id} - Should return 403 when user tries to view another profile")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void getUserById_Forbidden() throws Exception {
         Long otherUserId = 2L;
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
 
         mockMvc.perform(get("/api/users/{id}", otherUserId)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -195,12 +184,10 @@ class UserControllerTest {
 
     @Test
     @DisplayName("GET /api/users/{id} - Admin should access any profile")
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
     void getUserById_Admin() throws Exception {
         Long userId = 1L;
 
-        when(userRepository.findByUsername("admin"))
-                .thenReturn(Optional.of(adminUser));
         when(userService.getUserById(userId))
                 .thenReturn(userResponseDTO);
 
@@ -215,12 +202,10 @@ class UserControllerTest {
 
     @Test
     @DisplayName("GET /api/users/{id} - Should return 404 when user not found")
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
     void getUserById_NotFound() throws Exception {
         Long userId = 999L;
 
-        when(userRepository.findByUsername("admin"))
-                .thenReturn(Optional.of(adminUser));
         when(userService.getUserById(userId))
                 .thenThrow(new UserNotFoundException("User not found with id: 999"));
 
@@ -233,7 +218,7 @@ class UserControllerTest {
 
     @Test
     @DisplayName("PUT /api/users/{id} - User should update own profile")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void updateUser_OwnProfile() throws Exception {
         Long userId = 1L;
 
@@ -243,9 +228,7 @@ class UserControllerTest {
                 .email("updated@example.com")
                 .build();
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
-        when(userService.updateUser(eq(userId), any(UserRequestDTO.class)))
+        when(userService.updateUser(eq(userId), any(UserRequestDTO.class), isNull()))
                 .thenReturn(updatedUser);
 
         mockMvc.perform(put("/api/users/{id}", userId)
@@ -256,17 +239,15 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username", is("updateduser")));
 
-        verify(userService, times(1)).updateUser(eq(userId), any(UserRequestDTO.class));
+        verify(userService, times(1)).updateUser(eq(userId), any(UserRequestDTO.class), isNull());
     }
 
     @Test
     @DisplayName("PUT /api/users/{id} - Should return 403 when user tries to update another profile")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void updateUser_Forbidden() throws Exception {
         Long otherUserId = 2L;
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
 
         mockMvc.perform(put("/api/users/{id}", otherUserId)
                         .with(csrf())
@@ -276,18 +257,16 @@ class UserControllerTest {
                 .andExpect(status().isForbidden())
                 .andExpect(content().string("You can only update your own profile!"));
 
-        verify(userService, never()).updateUser(any(), any());
+        verify(userService, never()).updateUser(any(), any(), any());
     }
 
     @Test
     @DisplayName("PUT /api/users/{id} - Admin should update any profile")
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
     void updateUser_Admin() throws Exception {
         Long userId = 1L;
 
-        when(userRepository.findByUsername("admin"))
-                .thenReturn(Optional.of(adminUser));
-        when(userService.updateUser(eq(userId), any(UserRequestDTO.class)))
+        when(userService.updateUser(eq(userId), any(UserRequestDTO.class), isNull()))
                 .thenReturn(userResponseDTO);
 
         mockMvc.perform(put("/api/users/{id}", userId)
@@ -297,12 +276,12 @@ class UserControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        verify(userService, times(1)).updateUser(eq(userId), any(UserRequestDTO.class));
+        verify(userService, times(1)).updateUser(eq(userId), any(UserRequestDTO.class), isNull());
     }
 
     @Test
     @DisplayName("PUT /api/users/{id} - Should return 400 when password is invalid")
-    @WithMockUser(username = "testuser", roles = "USER")
+    @WithMockAuthenticatedUser(id = 1L, username = "testuser")
     void updateUser_InvalidPassword() throws Exception {
         Long userId = 1L;
 
@@ -312,8 +291,6 @@ class UserControllerTest {
                 .password("weak") // Invalid password
                 .build();
 
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
 
         mockMvc.perform(put("/api/users/{id}", userId)
                         .with(csrf())
@@ -323,12 +300,12 @@ class UserControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors.password").exists());
 
-        verify(userService, never()).updateUser(any(), any());
+        verify(userService, never()).updateUser(any(), any(), any());
     }
 
     @Test
     @DisplayName("DELETE /api/users/{id} - Admin should delete user")
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
     void deleteUser_Success() throws Exception {
         Long userId = 1L;
 
@@ -344,7 +321,7 @@ class UserControllerTest {
 
     @Test
     @DisplayName("DELETE /api/users/{id} - Should return 404 when user not found")
-    @WithMockUser(username = "admin", roles = "ADMIN")
+    @WithMockAuthenticatedUser(id = 99L, username = "admin", role = Role.ADMIN)
     void deleteUser_NotFound() throws Exception {
         Long userId = 999L;
 
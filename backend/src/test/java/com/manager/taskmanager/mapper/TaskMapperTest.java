@@ -0,0 +1,101 @@
+package com.manager.taskmanager.mapper;
+
+import com.manager.taskmanager.dto.TaskRequestDTO;
+import com.manager.taskmanager.dto.TaskResponseDTO;
+import com.manager.taskmanager.dto.UserRequestDTO;
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.TaskRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Task and User Mapper Unit Tests")
+class TaskMapperTest {
+
+    private final UserMapper userMapper = new UserMapperImpl();
+    private final TaskMapper taskMapper = new TaskMapperImpl(userMapper);
+
+    @Test
+    @DisplayName("Should map a task with its owner to a nested response")
+    void toResponse_NestedUser() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        User user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .password("encodedPassword")
+                .build();
+        Task task = Task.builder()
+                .id(5L)
+                .title("Task")
+                .description("Description")
+                .status(Status.IN_PROGRESS)
+                .user(user)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+
+        TaskResponseDTO result = taskMapper.toResponse(task);
+
+        assertEquals(5L, result.getId());
+        assertEquals("Task", result.getTitle());
+        assertEquals(Status.IN_PROGRESS, result.getStatus());
+        assertEquals(createdAt, result.getCreatedAt());
+        assertEquals(1L, result.getUser().getId());
+        assertEquals("test@example.com", result.getUser().getEmail());
+    }
+
+    @Test
+    @DisplayName("Should map a listing row to the same nested response")
+    void toResponses_Rows() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        TaskRow row = new TaskRow(5L, "Task", "Description", Status.DONE, createdAt, createdAt, 3L,
+                1L, "testuser", "test@example.com", createdAt, createdAt, 7L);
+
+        TaskResponseDTO result = taskMapper.toResponses(List.of(row)).get(0);
+
+        assertEquals(5L, result.getId());
+        assertEquals(3L, result.getVersion());
+        assertEquals(Status.DONE, result.getStatus());
+        assertEquals(1L, result.getUser().getId());
+        assertEquals(7L, result.getUser().getVersion());
+        assertEquals("testuser", result.getUser().getUsername());
+        assertEquals(createdAt, result.getUser().getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should map request fields only and leave identity and timestamps unset")
+    void toEntity_RequestFieldsOnly() {
+        Task task = taskMapper.toEntity(TaskRequestDTO.builder()
+                .title("New Task")
+                .description("New Description")
+                .build());
+
+        assertEquals("New Task", task.getTitle());
+        assertNull(task.getStatus());
+        assertNull(task.getId());
+        assertNull(task.getUser());
+        assertNull(task.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should convert the role name and never copy the raw password")
+    void toEntity_User() {
+        User user = userMapper.toEntity(UserRequestDTO.builder()
+                .username("admin")
+                .email("admin@example.com")
+                .password("Password123")
+                .role("ADMIN")
+                .build());
+
+        assertEquals(Role.ADMIN, user.getRole());
+        assertNull(user.getPassword());
+    }
+}
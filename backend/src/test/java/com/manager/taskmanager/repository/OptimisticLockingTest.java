@@ -0,0 +1,79 @@
+package com.manager.taskmanager.repository;
+
+import com.manager.taskmanager.model.Role;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Optimistic Locking Tests")
+class OptimisticLockingTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder()
+                .username("owner")
+                .email("owner@example.com")
+                .password("encodedPassword")
+                .role(Role.USER)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should reject a task update based on a stale version")
+    void saveTask_StaleVersion() {
+        Task task = taskRepository.save(Task.builder()
+                .title("Task")
+                .status(Status.TODO)
+                .user(saveUser())
+                .build());
+        Task first = taskRepository.findById(task.getId()).orElseThrow();
+        Task second = taskRepository.findById(task.getId()).orElseThrow();
+
+        first.setTitle("First");
+        taskRepository.save(first);
+        second.setTitle("Second");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskRepository.save(second));
+        Task stored = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals("First", stored.getTitle());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should reject a user update based on a stale version")
+    void saveUser_StaleVersion() {
+        User user = saveUser();
+        User first = userRepository.findById(user.getId()).orElseThrow();
+        User second = userRepository.findById(user.getId()).orElseThrow();
+
+        first.setEmail("first@example.com");
+        userRepository.save(first);
+        second.setEmail("second@example.com");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> userRepository.save(second));
+        assertEquals("first@example.com", userRepository.findById(user.getId()).orElseThrow().getEmail());
+    }
+}
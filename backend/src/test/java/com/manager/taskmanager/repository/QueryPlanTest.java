@@ -0,0 +1,307 @@
+package com.manager.taskmanager.repository;
+
+import com.manager.taskmanager.model.Status;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the migrations against a real PostgreSQL, validates the entity mappings against the result and checks that
+ * no repository query needs a sequential scan once the tables are large. The database starts out with the schema
+ * hibernate.ddl-auto used to create, as deployed databases did, so Flyway baselines it at V1 and only the later
+ * migrations have to provide the indexes.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        // Every repository call has to reach the database to be explained
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@ActiveProfiles("test")
+@DisplayName("Query Plan Tests")
+class QueryPlanTest {
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (tasks|users|task_tombstones|refresh_tokens)\\b");
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (Exception e) {
+            // e.g. initdb refuses to run as root
+            assumeTrue(false, "Embedded PostgreSQL unavailable: " + e.getMessage());
+        }
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(new ClassPathResource("db/hibernate-schema.sql")
+                    .getContentAsString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    private static void seed() throws Exception {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO users (id, username, email, password, role, created_at, updated_at)
+                    SELECT g, 'user' || g, 'user' || g || '@example.com', 'password', 'USER', now(), now()
+                    FROM generate_series(1, 2000) g
+                    """);
+            statement.execute("""
+                    INSERT INTO tasks (id, title, status, created_at, updated_at, user_id)
+                    SELECT g, 'Task ' || g, (ARRAY['TODO', 'IN_PROGRESS', 'DONE'])[1 + g % 3],
+                           now() - g * interval '1 second', now() - (g % 5000) * interval '1 second', 1 + g % 2000
+                    FROM generate_series(1, 200000) g
+                    """);
+            statement.execute("""
+                    INSERT INTO task_tombstones (task_id, user_id, deleted_at)
+                    SELECT 1000000 + g, 1 + g % 2000, now() - g * interval '1 minute'
+                    FROM generate_series(1, 20000) g
+                    """);
+            statement.execute("""
+                    INSERT INTO refresh_tokens (token_hash, user_id, family_id, expires_at, used_at)
+                    SELECT 'hash' || g, 1 + g % 2000, md5((g / 5)::text)::uuid, now() + g * interval '1 minute',
+                           CASE WHEN g % 5 = 4 THEN NULL ELSE now() END
+                    FROM generate_series(1, 20000) g
+                    """);
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve every repository query from an index on large tables")
+    void repositoryQueries_NoSequentialScans() throws Exception {
+        seed();
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+
+        recorder.start();
+        transactionTemplate.executeWithoutResult(transaction -> {
+            taskRepository.findPage(42L, null, null, null, 21);
+            taskRepository.findPage(42L, Status.DONE, yesterday, 1L, 21);
+            taskRepository.findPage(null, null, yesterday, 1L, 21);
+            taskRepository.findPage(null, Status.DONE, null, null, 21);
+            taskRepository.findChanges(42L, yesterday, 1L, 101);
+            taskRepository.findById(42L);
+            taskRepository.findOwnerIdById(42L);
+            taskRepository.findOwnershipByIdIn(List.of(42L, 2042L));
+            taskTombstoneRepository.findPage(42L, yesterday, 1L, Limit.of(101));
+            userRepository.findByUsername("user42");
+            userRepository.findByEmail("user42@example.com");
+            userRepository.existsById(42L);
+            refreshTokenRepository.findById("hash42");
+
+            taskTombstoneRepository.recordDeletions(List.of(42L, 2042L), LocalDateTime.now());
+            taskRepository.deleteAllByIdIn(List.of(42L, 2042L));
+            taskTombstoneRepository.deleteAllDeletedBefore(LocalDateTime.now().minusDays(30));
+            taskTombstoneRepository.deleteAllByUserId(43L);
+            refreshTokenRepository.markUsed("hash44", LocalDateTime.now());
+            refreshTokenRepository.deleteAllByFamilyId(UUID.randomUUID());
+            refreshTokenRepository.deleteAllExpiredBefore(LocalDateTime.now());
+            refreshTokenRepository.deleteAllByUserId(43L);
+            userRepository.delete(userRepository.findById(43L).orElseThrow());
+            userRepository.flush();
+
+            transaction.setRollbackOnly();
+        });
+        recorder.stop();
+
+        List<String> offenders = new ArrayList<>();
+        for (RecordedStatement statement : recorder.statements()) {
+            String plan = explain(statement);
+            if (SEQ_SCAN.matcher(plan).find()) {
+                offenders.add(statement.sql() + "\n" + plan);
+            }
+        }
+        assertTrue(recorder.statements().size() > 15);
+        assertTrue(offenders.isEmpty(), () -> String.join("\n\n", offenders));
+    }
+
+    @Test
+    @DisplayName("Should flag a query that has no index to use")
+    void explain_DetectsSequentialScan() throws Exception {
+        String plan = explain(new RecordedStatement("select * from tasks where title = ?",
+                List.of(new Parameter(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[]{1, "Task 42"}))));
+
+        assertTrue(SEQ_SCAN.matcher(plan).find(), plan);
+        assertFalse(SEQ_SCAN.matcher(explain(new RecordedStatement("select * from tasks where id = 42", List.of())))
+                .find());
+    }
+
+    // Binds the recorded parameters again, so the planner sees the same values as the original execution
+    private static String explain(RecordedStatement statement) throws Exception {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (Parameter parameter : statement.parameters()) {
+                parameter.setter().invoke(explain, parameter.args());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    record Parameter(Method setter, Object[] args) {
+    }
+
+    record RecordedStatement(String sql, List<Parameter> parameters) {
+    }
+
+    /**
+     * Records the SQL and bound parameters of every prepared statement executed while recording.
+     */
+    static class StatementRecorder {
+
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+
+        void start() {
+            statements.clear();
+            recording = true;
+        }
+
+        void stop() {
+            recording = false;
+        }
+
+        List<RecordedStatement> statements() {
+            return statements;
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                    result instanceof Connection connection ? wrap(connection) : result);
+        }
+
+        private Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) ->
+                    method.getName().equals("prepareStatement")
+                            ? wrap((PreparedStatement) result, (String) args[0])
+                            : result);
+        }
+
+        private PreparedStatement wrap(PreparedStatement statement, String sql) {
+            List<Parameter> parameters = new ArrayList<>();
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    parameters.add(new Parameter(method, args.clone()));
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (recording && (name.startsWith("execute") || name.equals("addBatch"))) {
+                    statements.add(new RecordedStatement(sql, List.copyOf(parameters)));
+                }
+                return result;
+            });
+        }
+
+        private interface Interceptor {
+            Object after(Method method, Object[] args, Object result) throws Exception;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                try {
+                    return interceptor.after(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor(ObjectProvider<StatementRecorder> recorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recorder.getObject().wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
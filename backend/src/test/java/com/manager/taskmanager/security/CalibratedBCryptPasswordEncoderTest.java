@@ -0,0 +1,42 @@
+package com.manager.taskmanager.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CalibratedBCryptPasswordEncoder Unit Tests")
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    @DisplayName("Should flag only hashes of a lower strength for rehashing")
+    void upgradeEncoding_LowerStrengths() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(encoder.encode("Password123")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("Password123")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("Password123")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    @DisplayName("Should still verify hashes made at another strength")
+    void matches_OtherStrength() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+        String legacy = new BCryptPasswordEncoder(4).encode("Password123");
+
+        assertTrue(encoder.matches("Password123", legacy));
+        assertFalse(encoder.matches("Wrong123", legacy));
+    }
+
+    @Test
+    @DisplayName("Should calibrate within the configured bounds")
+    void calibrated_WithinBounds() {
+        assertEquals(4, CalibratedBCryptPasswordEncoder.calibrated(Duration.ZERO, 4, 6).getStrength());
+        assertEquals(6, CalibratedBCryptPasswordEncoder.calibrated(Duration.ofHours(1), 4, 6).getStrength());
+    }
+}
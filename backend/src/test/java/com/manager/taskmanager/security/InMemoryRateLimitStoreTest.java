@@ -0,0 +1,46 @@
+package com.manager.taskmanager.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryRateLimitStore Unit Tests")
+class InMemoryRateLimitStoreTest {
+
+    private InMemoryRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRateLimitStore(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to the capacity and then report the wait for the next token")
+    void tryConsume_BurstThenWait() {
+        RateLimit limit = new RateLimit(2, Duration.ofHours(1));
+
+        assertEquals(Duration.ZERO, store.tryConsume("ip:1", limit));
+        assertEquals(Duration.ZERO, store.tryConsume("ip:1", limit));
+        Duration wait = store.tryConsume("ip:1", limit);
+
+        assertTrue(wait.compareTo(Duration.ofMinutes(29)) > 0 && wait.compareTo(Duration.ofMinutes(30)) <= 0, wait::toString);
+        assertEquals(Duration.ZERO, store.tryConsume("ip:2", limit));
+    }
+
+    @Test
+    @DisplayName("Should refill the bucket over the period")
+    void tryConsume_Refills() throws InterruptedException {
+        RateLimit limit = new RateLimit(1, Duration.ofMillis(50));
+
+        assertEquals(Duration.ZERO, store.tryConsume("ip:1", limit));
+        assertFalse(store.tryConsume("ip:1", limit).isZero());
+        Thread.sleep(60);
+
+        assertEquals(Duration.ZERO, store.tryConsume("ip:1", limit));
+    }
+}
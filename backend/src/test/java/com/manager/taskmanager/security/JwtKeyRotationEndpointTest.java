@@ -0,0 +1,42 @@
+package com.manager.taskmanager.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JwtKeyRotationEndpoint Unit Tests")
+class JwtKeyRotationEndpointTest {
+
+    private JwtUtil jwtUtil;
+    private JwtTokenCache jwtTokenCache;
+    private JwtKeyRotationEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil("testSecretKeyForJWTTokenGenerationAndValidation123456789", "k1", 60_000L);
+        jwtTokenCache = mock(JwtTokenCache.class);
+        endpoint = new JwtKeyRotationEndpoint(jwtUtil, jwtTokenCache);
+    }
+
+    @Test
+    @DisplayName("Should drop the verified-token cache on rotation and retirement")
+    void rotateAndRetire_InvalidateTokenCache() {
+        endpoint.rotate("k2", "rotatedSecretKeyForJWTTokenGenerationAndValidation12345");
+        endpoint.retire("k1");
+
+        assertEquals("k2", jwtUtil.getSigningKeyId());
+        verify(jwtTokenCache, times(2)).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Should keep the cache when a rotation is rejected")
+    void rotate_ExistingKeyId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> endpoint.rotate("k1", "rotatedSecretKeyForJWTTokenGenerationAndValidation12345"));
+
+        verifyNoInteractions(jwtTokenCache);
+    }
+}
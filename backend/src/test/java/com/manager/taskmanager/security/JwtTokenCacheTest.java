@@ -0,0 +1,85 @@
+package com.manager.taskmanager.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JwtTokenCache Unit Tests")
+class JwtTokenCacheTest {
+
+    private JwtUtil jwtUtil;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenCache jwtTokenCache;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil("testSecretKeyForJWTTokenGenerationAndValidation123456789", "k1", 60_000L));
+
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenCache = new JwtTokenCache(jwtUtil, meterRegistry, 100);
+
+        userDetails = User.withUsername("testuser")
+                .password("encodedPassword")
+                .roles("USER")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should parse a token only once across repeated lookups")
+    void getVerifiedClaims_ParsesOnce() {
+        String token = jwtUtil.generateToken(userDetails, 1L, "USER");
+
+        Claims first = jwtTokenCache.getVerifiedClaims(token);
+        Claims second = jwtTokenCache.getVerifiedClaims(token);
+
+        assertEquals("testuser", first.getSubject());
+        assertSame(first, second);
+        verify(jwtUtil, times(1)).parseSignedClaims(token);
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that fail verification")
+    void getVerifiedClaims_InvalidTokenNotCached() {
+        assertThrows(MalformedJwtException.class, () -> jwtTokenCache.getVerifiedClaims("not-a-jwt"));
+        assertThrows(MalformedJwtException.class, () -> jwtTokenCache.getVerifiedClaims("not-a-jwt"));
+
+        verify(jwtUtil, times(2)).parseSignedClaims("not-a-jwt");
+    }
+
+    @Test
+    @DisplayName("Should reject a cached token once its signing key is retired")
+    void getVerifiedClaims_RetiredKeyRejected() {
+        String token = jwtUtil.generateToken(userDetails, 1L, "USER");
+        jwtTokenCache.getVerifiedClaims(token);
+
+        jwtUtil.rotateSigningKey("k2", "rotatedSecretKeyForJWTTokenGenerationAndValidation12345");
+        jwtUtil.retireSigningKey("k1");
+
+        assertThrows(SignatureException.class, () -> jwtTokenCache.getVerifiedClaims(token));
+    }
+
+    @Test
+    @DisplayName("Should record hit and miss metrics")
+    void getVerifiedClaims_RecordsMetrics() {
+        String token = jwtUtil.generateToken(userDetails, 1L, "USER");
+
+        jwtTokenCache.getVerifiedClaims(token);
+        jwtTokenCache.getVerifiedClaims(token);
+        jwtTokenCache.getVerifiedClaims(token);
+
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "miss")
+                .functionCounter().count());
+    }
+}
@@ -0,0 +1,105 @@
+package com.manager.taskmanager.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtUtil Unit Tests")
+class JwtUtilTest {
+
+    private static final String INITIAL_SECRET = "testSecretKeyForJWTTokenGenerationAndValidation123456789";
+    private static final String ROTATED_SECRET = "rotatedSecretKeyForJWTTokenGenerationAndValidation12345";
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(INITIAL_SECRET, "k1", 60_000L);
+        userDetails = User.withUsername("testuser")
+                .password("encodedPassword")
+                .roles("USER")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should sign new tokens with the rotated key and keep verifying old ones")
+    void rotateSigningKey_OldTokensStillVerify() {
+        String oldToken = jwtUtil.generateToken(userDetails, 1L, "USER");
+
+        jwtUtil.rotateSigningKey("k2", ROTATED_SECRET);
+        String newToken = jwtUtil.generateToken(userDetails, 1L, "USER");
+
+        assertEquals("k2", jwtUtil.parseSignedClaims(newToken).getHeader().getKeyId());
+        assertTrue(jwtUtil.validateToken(oldToken, userDetails));
+        assertTrue(jwtUtil.validateToken(newToken, userDetails));
+    }
+
+    @Test
+    @DisplayName("Should not replace the secret of a key id that is still active")
+    void rotateSigningKey_ExistingKeyId() {
+        String token = jwtUtil.generateToken(userDetails, 1L, "USER");
+
+        assertThrows(IllegalArgumentException.class, () -> jwtUtil.rotateSigningKey("k1", ROTATED_SECRET));
+
+        assertEquals("k1", jwtUtil.getSigningKeyId());
+        assertTrue(jwtUtil.validateToken(token, userDetails));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with a retired key")
+    void retireSigningKey_RejectsOldTokens() {
+        String oldToken = jwtUtil.generateToken(userDetails, 1L, "USER");
+
+        jwtUtil.rotateSigningKey("k2", ROTATED_SECRET);
+        jwtUtil.retireSigningKey("k1");
+
+        assertThrows(SignatureException.class, () -> jwtUtil.extractAllClaims(oldToken));
+    }
+
+    @Test
+    @DisplayName("Should not retire the current signing key")
+    void retireSigningKey_CurrentKey() {
+        assertThrows(IllegalArgumentException.class, () -> jwtUtil.retireSigningKey("k1"));
+    }
+
+    @Test
+    @DisplayName("Should verify legacy tokens without a kid header against the initial key")
+    void extractAllClaims_LegacyTokenWithoutKeyId() {
+        String legacyToken = Jwts.builder()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + 60_000L))
+                .signWith(Keys.hmacShaKeyFor(INITIAL_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        jwtUtil.rotateSigningKey("k2", ROTATED_SECRET);
+
+        assertEquals("testuser", jwtUtil.extractUsername(legacyToken));
+        assertTrue(jwtUtil.isActiveKey(null));
+    }
+
+    @Test
+    @DisplayName("Should carry user id and role claims for the stateless principal")
+    void toUserDetails_FromClaims() {
+        String token = jwtUtil.generateToken(userDetails, 42L, "ADMIN");
+
+        Claims claims = jwtUtil.extractAllClaims(token);
+        UserDetails principal = jwtUtil.toPrincipal(claims);
+
+        assertEquals(42L, claims.get(JwtUtil.USER_ID_CLAIM, Long.class));
+        assertEquals("testuser", principal.getUsername());
+        assertTrue(principal.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+}
@@ -0,0 +1,68 @@
+package com.manager.taskmanager.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenRevocationRegistry Unit Tests")
+class TokenRevocationRegistryTest {
+
+    private TokenRevocationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenRevocationRegistry(60_000L);
+    }
+
+    private Claims claims(Long userId, Date issuedAt) {
+        return Jwts.claims()
+                .subject("testuser")
+                .add(JwtUtil.USER_ID_CLAIM, userId)
+                .issuedAt(issuedAt)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should revoke tokens issued before the revocation")
+    void isRevoked_IssuedBefore() {
+        Claims claims = claims(1L, new Date(System.currentTimeMillis() - 5_000L));
+
+        assertFalse(registry.isRevoked(claims));
+        registry.revokeAllFor(1L);
+
+        assertTrue(registry.isRevoked(claims));
+    }
+
+    @Test
+    @DisplayName("Should accept tokens issued after the revocation")
+    void isRevoked_IssuedAfter() {
+        registry.revokeAllFor(1L);
+
+        assertFalse(registry.isRevoked(claims(1L, new Date(System.currentTimeMillis() + 5_000L))));
+    }
+
+    @Test
+    @DisplayName("Should only revoke tokens of the given user")
+    void isRevoked_OtherUser() {
+        registry.revokeAllFor(1L);
+
+        assertFalse(registry.isRevoked(claims(2L, new Date(System.currentTimeMillis() - 5_000L))));
+    }
+
+    @Test
+    @DisplayName("Should drop entries once every token they revoke has expired")
+    void revokeAllFor_PrunesExpiredEntries() {
+        TokenRevocationRegistry shortLived = new TokenRevocationRegistry(-1L);
+
+        shortLived.revokeAllFor(1L);
+        shortLived.revokeAllFor(2L);
+
+        assertEquals(0, shortLived.size());
+    }
+}
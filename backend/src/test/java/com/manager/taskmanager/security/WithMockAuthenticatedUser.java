@@ -0,0 +1,21 @@
+package com.manager.taskmanager.security;
+
+import com.manager.taskmanager.model.Role;
+import org.springframework.security.test.context.support.WithSecurityContext;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@WithSecurityContext(factory = WithMockAuthenticatedUserSecurityContextFactory.class)
+public @interface WithMockAuthenticatedUser {
+
+    long id() default 1L;
+
+    String username() default "testuser";
+
+    Role role() default Role.USER;
+}
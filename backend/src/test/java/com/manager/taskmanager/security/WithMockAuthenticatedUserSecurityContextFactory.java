@@ -0,0 +1,25 @@
+package com.manager.taskmanager.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithSecurityContextFactory;
+
+public class WithMockAuthenticatedUserSecurityContextFactory
+        implements WithSecurityContextFactory<WithMockAuthenticatedUser> {
+
+    @Override
+    public SecurityContext createSecurityContext(WithMockAuthenticatedUser annotation) {
+        AuthenticatedUser principal = new AuthenticatedUser(
+                annotation.id(),
+                annotation.username(),
+                "password",
+                annotation.role()
+        );
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, principal.getPassword(), principal.getAuthorities()));
+        return context;
+    }
+}
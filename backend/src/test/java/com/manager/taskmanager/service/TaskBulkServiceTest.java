@@ -0,0 +1,193 @@
+package com.manager.taskmanager.service;
+
+import com.manager.taskmanager.dto.BulkResultDTO;
+import com.manager.taskmanager.dto.TaskBulkUpdateDTO;
+import com.manager.taskmanager.dto.TaskRequestDTO;
+import com.manager.taskmanager.exception.TaskNotFoundException;
+import com.manager.taskmanager.mapper.TaskMapper;
+import com.manager.taskmanager.mapper.TaskMapperImpl;
+import com.manager.taskmanager.mapper.UserMapperImpl;
+import com.manager.taskmanager.model.Status;
+import com.manager.taskmanager.model.Task;
+import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.TaskOwnership;
+import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.TaskTombstoneRepository;
+import com.manager.taskmanager.repository.UserRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskBulkService Unit Tests")
+class TaskBulkServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskListingCache taskListingCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TaskMapper taskMapper = new TaskMapperImpl(new UserMapperImpl());
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private TaskBulkService taskBulkService;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        taskBulkService = new TaskBulkService(taskRepository, taskTombstoneRepository, userRepository, taskMapper, validator, taskListingCache, eventPublisher);
+        ReflectionTestUtils.setField(taskBulkService, "maxBulkSize", 3);
+
+        owner = User.builder()
+                .id(1L)
+                .username("owner")
+                .build();
+    }
+
+    private Task task(Long id, User user) {
+        return Task.builder()
+                .id(id)
+                .title("Task " + id)
+                .status(Status.TODO)
+                .user(user)
+                .build();
+    }
+
+    private TaskOwnership ownership(Long id, Long ownerId) {
+        return new TaskOwnership() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return ownerId;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("createTasks should save valid items in one call and report invalid ones")
+    @SuppressWarnings("unchecked")
+    void createTasks_MixedItems() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            long id = 100;
+            for (Task task : tasks) {
+                task.setId(id++);
+            }
+            return tasks;
+        });
+
+        BulkResultDTO result = taskBulkService.createTasks(1L, new ArrayList<>(List.of(
+                TaskRequestDTO.builder().title("First").build(),
+                TaskRequestDTO.builder().title("").build(),
+                TaskRequestDTO.builder().title("Third").status(Status.DONE).build()
+        )));
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals(100L, result.getResults().get(0).getId());
+        assertEquals(201, result.getResults().get(0).getStatus());
+        assertEquals(400, result.getResults().get(1).getStatus());
+        assertTrue(result.getResults().get(1).getError().startsWith("title"));
+        assertEquals(101L, result.getResults().get(2).getId());
+
+        ArgumentCaptor<List<Task>> saved = ArgumentCaptor.forClass(List.class);
+        verify(taskRepository, times(1)).saveAll(saved.capture());
+        assertEquals(Status.TODO, saved.getValue().get(0).getStatus());
+        assertSame(owner, saved.getValue().get(1).getUser());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("createTasks should reject unknown users and oversized requests")
+    void createTasks_InvalidRequest() {
+        when(userRepository.existsById(999L)).thenReturn(false);
+        List<TaskRequestDTO> one = List.of(TaskRequestDTO.builder().title("Task").build());
+
+        assertThrows(TaskNotFoundException.class, () -> taskBulkService.createTasks(999L, one));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskBulkService.createTasks(1L, Collections.nCopies(4, one.get(0))));
+        assertThrows(IllegalArgumentException.class, () -> taskBulkService.createTasks(1L, List.of()));
+
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("updateTasks should apply owned patches and report missing and foreign tasks")
+    void updateTasks_PerItemOutcome() {
+        Task ownTask = task(1L, owner);
+        Task foreignTask = task(2L, User.builder().id(2L).build());
+        when(taskRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(ownTask, foreignTask));
+
+        BulkResultDTO result = taskBulkService.updateTasks(1L, List.of(
+                new TaskBulkUpdateDTO(1L, TaskRequestDTO.builder().title("Renamed").status(Status.DONE).build()),
+                new TaskBulkUpdateDTO(2L, TaskRequestDTO.builder().title("Hijacked").build()),
+                new TaskBulkUpdateDTO(3L, TaskRequestDTO.builder().title("Missing").build())
+        ));
+
+        assertEquals(List.of(200, 403, 404), result.getResults().stream().map(r -> r.getStatus()).toList());
+        assertEquals("Renamed", ownTask.getTitle());
+        assertEquals(Status.DONE, ownTask.getStatus());
+        assertEquals("Task 2", foreignTask.getTitle());
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("deleteTasks should delete permitted ids in one statement")
+    void deleteTasks_PerItemOutcome() {
+        when(taskRepository.findOwnershipByIdIn(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(ownership(1L, 1L), ownership(2L, 2L)));
+
+        BulkResultDTO result = taskBulkService.deleteTasks(1L, List.of(1L, 2L, 3L));
+
+        assertEquals(List.of(204, 403, 404), result.getResults().stream().map(r -> r.getStatus()).toList());
+        verify(taskRepository, times(1)).deleteAllByIdIn(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("deleteTasks should not restrict admins to their own tasks")
+    void deleteTasks_AnyOwner() {
+        when(taskRepository.findOwnershipByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(ownership(1L, 1L), ownership(2L, 2L)));
+
+        BulkResultDTO result = taskBulkService.deleteTasks(null, List.of(1L, 2L));
+
+        assertEquals(2, result.getSucceeded());
+        verify(taskTombstoneRepository, times(1)).recordDeletions(eq(List.of(1L, 2L)), any());
+        verify(taskRepository, times(1)).deleteAllByIdIn(List.of(1L, 2L));
+        verify(eventPublisher, times(2)).publishEvent(any(TaskChangedEvent.class));
+    }
+}
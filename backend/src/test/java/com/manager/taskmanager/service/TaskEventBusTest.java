@@ -0,0 +1,105 @@
+package com.manager.taskmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskEventBus Unit Tests")
+class TaskEventBusTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bus = new TaskEventBus(new ObjectMapper().findAndRegisterModules(), meterRegistry, 2,
+                Duration.ofMillis(20), Duration.ofMinutes(1));
+    }
+
+    private Thread subscribe(Long userId, OutputStream out) throws InterruptedException {
+        int subscribers = bus.getSubscriberCount();
+        Thread reader = Thread.ofVirtual().start(() -> {
+            try {
+                bus.stream(userId, out);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (bus.getSubscriberCount() == subscribers) {
+            Thread.sleep(1);
+        }
+        return reader;
+    }
+
+    @Test
+    @DisplayName("Should stream only the subscriber's own events, with heartbeats in between")
+    void stream_OwnEventsAndHeartbeats() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Thread reader = subscribe(1L, out);
+
+        bus.publish(TaskChangedEvent.deleted(1L, 10L));
+        bus.publish(TaskChangedEvent.deleted(2L, 20L));
+        while (!out.toString().contains(": heartbeat\n\n")) {
+            Thread.sleep(5);
+        }
+        bus.closeAll();
+        assertTrue(reader.join(Duration.ofSeconds(5)));
+
+        String stream = out.toString();
+        assertTrue(stream.startsWith(": connected\n\n"));
+        assertTrue(stream.contains("event: deleted\ndata: {\"taskId\":10,\"task\":null}\n\n"));
+        assertFalse(stream.contains("\"taskId\":20"));
+        assertEquals(0, bus.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber whose buffer is full without blocking the publisher")
+    void publish_DropsSlowConsumer() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutputStream stalled = new OutputStream() {
+            private int writes;
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                // Lets the connected frame through, then stalls like a client that stopped reading
+                if (writes++ > 0) {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                }
+            }
+        };
+        Thread reader = subscribe(1L, stalled);
+
+        bus.publish(TaskChangedEvent.deleted(1L, 1L));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        bus.publish(TaskChangedEvent.deleted(1L, 2L));
+        bus.publish(TaskChangedEvent.deleted(1L, 3L));
+        bus.publish(TaskChangedEvent.deleted(1L, 4L));
+
+        assertEquals(1.0, meterRegistry.get("tasks.events.dropped").counter().count());
+        release.countDown();
+        assertTrue(reader.join(Duration.ofSeconds(5)));
+        assertEquals(0, bus.getSubscriberCount());
+    }
+}
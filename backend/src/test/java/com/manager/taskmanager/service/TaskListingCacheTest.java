@@ -0,0 +1,115 @@
+package com.manager.taskmanager.service;
+
+import com.manager.taskmanager.dto.TaskPageDTO;
+import com.manager.taskmanager.model.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskListingCache Unit Tests")
+class TaskListingCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskListingCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TaskListingCache(meterRegistry, 10, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private TaskPageDTO load(Long userId, Status status) {
+        return cache.get(userId, status, null, 20, () -> {
+            loads.incrementAndGet();
+            return new TaskPageDTO(Collections.emptyList(), null);
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep pages per user, status, cursor and page size")
+    void get_KeysByListingParameters() {
+        load(1L, null);
+        load(1L, null);
+        load(1L, Status.DONE);
+        load(2L, null);
+
+        assertEquals(3, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "tasks.listing").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should drop every page of a user, and only that user, on eviction")
+    void evictAfterCommit_OutsideTransaction() {
+        load(1L, null);
+        load(1L, Status.DONE);
+        load(2L, null);
+
+        cache.evictAfterCommit(1L);
+        load(1L, null);
+        load(1L, Status.DONE);
+        load(2L, null);
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should keep serving the committed state until the transaction commits")
+    void evictAfterCommit_WaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAfterCommit(1L);
+        load(1L, null);
+        load(1L, null);
+        assertEquals(1, loads.get());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        load(1L, null);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not keep a page loaded while a write committed")
+    void get_ConcurrentWriteDiscardsPage() {
+        cache.get(1L, null, null, 20, () -> {
+            cache.evictAfterCommit(1L);
+            return new TaskPageDTO(Collections.emptyList(), null);
+        });
+
+        load(1L, null);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should load pages outside of the cache's map")
+    void get_LoadsOutsideCompute() {
+        // A load inside the map's compute would fail on this recursive access to the same key
+        TaskPageDTO page = cache.get(1L, null, null, 20, () -> load(1L, null));
+
+        assertNotNull(page);
+        load(1L, null);
+        assertEquals(1, loads.get());
+    }
+}
@@ -1,32 +1,41 @@
 package com.manager.taskmanager.service;
 
+import com.manager.taskmanager.dto.TaskPageDTO;
 import com.manager.taskmanager.dto.TaskRequestDTO;
 import com.manager.taskmanager.dto.TaskResponseDTO;
 import com.manager.taskmanager.dto.UserResponseDTO;
+import com.manager.taskmanager.exception.PreconditionFailedException;
 import com.manager.taskmanager.exception.TaskNotFoundException;
+import com.manager.taskmanager.mapper.TaskMapper;
 import com.manager.taskmanager.model.Status;
 import com.manager.taskmanager.model.Task;
 import com.manager.taskmanager.model.User;
 import com.manager.taskmanager.repository.TaskRepository;
+import com.manager.taskmanager.repository.TaskRow;
+import com.manager.taskmanager.repository.TaskTombstoneRepository;
 import com.manager.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,23 +45,37 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private TaskMapper taskMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TaskListingCache taskListingCache =
+            new TaskListingCache(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(1));
 
     @InjectMocks
     private TaskService taskService;
 
     private User testUser;
     private Task testTask;
+    private TaskRow testRow;
     private TaskRequestDTO taskRequestDTO;
     private TaskResponseDTO taskResponseDTO;
     private UserResponseDTO userResponseDTO;
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(taskService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(taskService, "maxPageSize", 100);
+
         testUser = User.builder()
                 .id(1L)
                 .username("testuser")
@@ -70,6 +93,8 @@ class TaskServiceTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
+        testRow = row(1L, testTask.getCreatedAt());
+
         taskRequestDTO = TaskRequestDTO.builder()
                 .title("New Task")
                 .description("New Description")
@@ -91,6 +116,11 @@ class TaskServiceTest {
                 .build();
     }
 
+    private TaskRow row(Long id, LocalDateTime createdAt) {
+        return new TaskRow(id, "Task " + id, null, Status.TODO, createdAt, createdAt, 0L,
+                testUser.getId(), testUser.getUsername(), testUser.getEmail(), null, null, 0L);
+    }
+
     @Test
     @DisplayName("createTask should create task successfully when user exists")
     void createTask_Success() {
@@ -98,11 +128,11 @@ class TaskServiceTest {
 
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(testUser));
-        when(modelMapper.map(taskRequestDTO, Task.class))
+        when(taskMapper.toEntity(taskRequestDTO))
                 .thenReturn(testTask);
         when(taskRepository.save(any(Task.class)))
                 .thenReturn(testTask);
-        when(modelMapper.map(testTask, TaskResponseDTO.class))
+        when(taskMapper.toResponse(testTask))
                 .thenReturn(taskResponseDTO);
 
         TaskResponseDTO result = taskService.createTask(userId, taskRequestDTO);
@@ -117,8 +147,9 @@ class TaskServiceTest {
 
         verify(userRepository, times(1)).findById(userId);
         verify(taskRepository, times(1)).save(any(Task.class));
-        verify(modelMapper, times(1)).map(taskRequestDTO, Task.class);
-        verify(modelMapper, times(1)).map(testTask, TaskResponseDTO.class);
+        verify(taskMapper, times(1)).toEntity(taskRequestDTO);
+        verify(taskMapper, times(1)).toResponse(testTask);
+        verify(eventPublisher, times(1)).publishEvent(TaskChangedEvent.created(taskResponseDTO));
     }
 
     @Test
@@ -140,118 +171,163 @@ class TaskServiceTest {
     }
 
     @Test
-    @DisplayName("getAllTasks should return all tasks")
-    void getAllTasks_Success() {
-        Task task2 = Task.builder()
-                .id(2L)
-                .title("Task 2")
-                .description("Description 2")
-                .status(Status.IN_PROGRESS)
-                .user(testUser)
-                .build();
+    @DisplayName("getAllTasks should return a page with a cursor when more tasks follow")
+    void getAllTasks_FirstPage() {
+        TaskRow row2 = row(2L, testRow.createdAt().plusSeconds(1));
+        TaskRow row3 = row(3L, testRow.createdAt().plusSeconds(2));
 
-        List<Task> tasks = Arrays.asList(testTask, task2);
+        when(taskRepository.findPage(null, null, null, null, 3))
+                .thenReturn(new ArrayList<>(List.of(testRow, row2, row3)));
+        when(taskMapper.toResponses(List.of(testRow, row2)))
+                .thenReturn(List.of(taskResponseDTO, taskResponseDTO));
 
-        UserResponseDTO user2DTO = UserResponseDTO.builder()
-                .id(1L)
-                .username("testuser")
-                .build();
+        TaskPageDTO result = taskService.getAllTasks(null, null, 2);
 
-        TaskResponseDTO dto2 = TaskResponseDTO.builder()
-                .id(2L)
-                .title("Task 2")
-                .user(user2DTO)
-                .build();
+        assertEquals(2, result.getItems().size());
+        assertNotNull(result.getNext());
 
-        when(taskRepository.findAll()).thenReturn(tasks);
-        when(modelMapper.map(testTask, TaskResponseDTO.class))
-                .thenReturn(taskResponseDTO);
-        when(modelMapper.map(task2, TaskResponseDTO.class))
-                .thenReturn(dto2);
+        TaskCursor next = TaskCursor.decode(result.getNext());
+        assertEquals(row2.createdAt(), next.createdAt());
+        assertEquals(2L, next.id());
+    }
+
+    @Test
+    @DisplayName("getAllTasks should seek past the cursor and end without a next cursor")
+    void getAllTasks_LastPage() {
+        TaskCursor cursor = new TaskCursor(LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_000), 7L);
 
-        List<TaskResponseDTO> result = taskService.getAllTasks();
+        when(taskRepository.findPage(null, Status.TODO, cursor.createdAt(), 7L, 21))
+                .thenReturn(List.of(testRow));
+        when(taskMapper.toResponses(List.of(testRow)))
+                .thenReturn(List.of(taskResponseDTO));
 
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertNotNull(result.get(0).getUser());
-        assertNotNull(result.get(1).getUser());
+        TaskPageDTO result = taskService.getAllTasks(Status.TODO, cursor.encode(), null);
 
-        verify(taskRepository, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNext());
     }
 
     @Test
-    @DisplayName("getAllTasks should return empty list when no tasks exist")
-    void getAllTasks_EmptyList() {
-        when(taskRepository.findAll()).thenReturn(Collections.emptyList());
+    @DisplayName("getAllTasks should cap the page size")
+    void getAllTasks_PageSizeCapped() {
+        when(taskRepository.findPage(null, null, null, null, 101))
+                .thenReturn(Collections.emptyList());
 
-        List<TaskResponseDTO> result = taskService.getAllTasks();
+        TaskPageDTO result = taskService.getAllTasks(null, null, 10_000);
 
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        assertEquals(0, result.size());
+        assertTrue(result.getItems().isEmpty());
+        verify(taskRepository, times(1)).findPage(null, null, null, null, 101);
+    }
+
+    @Test
+    @DisplayName("getAllTasks should reject malformed cursors and page sizes")
+    void getAllTasks_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getAllTasks(null, "not-a-cursor", null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getAllTasks(null, null, 0));
 
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, never()).findPage(any(), any(), any(), any(), anyInt());
     }
 
     @Test
-    @DisplayName("getTasksByUser should return user's tasks")
+    @DisplayName("getTasksByUser should return user's tasks without looking up the user")
     void getTasksByUser_Success() {
         Long userId = 1L;
-        List<Task> userTasks = Arrays.asList(testTask);
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(testUser));
-        when(taskRepository.findByUser(testUser))
-                .thenReturn(userTasks);
-        when(modelMapper.map(any(Task.class), eq(TaskResponseDTO.class)))
-                .thenReturn(taskResponseDTO);
+        when(taskRepository.findPage(userId, null, null, null, 21))
+                .thenReturn(List.of(testRow));
+        when(taskMapper.toResponses(List.of(testRow)))
+                .thenReturn(List.of(taskResponseDTO));
 
-        List<TaskResponseDTO> result = taskService.getTasksByUser(userId);
+        TaskPageDTO result = taskService.getTasksByUser(userId, null, null, null);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertNotNull(result.get(0).getUser());
-        assertEquals(1L, result.get(0).getUser().getId());
+        assertEquals(1, result.getItems().size());
+        assertEquals(1L, result.getItems().get(0).getUser().getId());
+        assertNull(result.getNext());
 
-        verify(userRepository, times(1)).findById(userId);
-        verify(taskRepository, times(1)).findByUser(testUser);
+        verify(userRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("getTasksByUser should serve repeated reads from the cache until the user's tasks change")
+    void getTasksByUser_CachedUntilWrite() {
+        Long userId = 1L;
+
+        when(taskRepository.findPage(userId, null, null, null, 21))
+                .thenReturn(List.of(testRow));
+        when(taskMapper.toResponses(List.of(testRow)))
+                .thenReturn(List.of(taskResponseDTO));
+
+        TaskPageDTO first = taskService.getTasksByUser(userId, null, null, null);
+        assertSame(first, taskService.getTasksByUser(userId, null, null, 20));
+        verify(taskRepository, times(1)).findPage(userId, null, null, null, 21);
+
+        when(taskRepository.findById(testTask.getId())).thenReturn(Optional.of(testTask));
+        taskService.deleteTask(testTask.getId(), userId);
+
+        taskService.getTasksByUser(userId, null, null, null);
+        verify(taskRepository, times(2)).findPage(userId, null, null, null, 21);
+    }
+
+    @Test
+    @DisplayName("getTasksByUser should throw TaskNotFoundException when user does not exist")
+    void getTasksByUser_UserNotFound() {
+        Long userId = 999L;
+
+        when(taskRepository.findPage(userId, null, null, null, 21))
+                .thenReturn(Collections.emptyList());
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTasksByUser(userId, null, null, null));
     }
 
     @Test
-    @DisplayName("getTaskById should return task when ID exists")
-    void getTaskById_Success() {
+    @DisplayName("findTaskById should return task owned by the user in a single lookup")
+    void findTaskById_Success() {
         Long taskId = 1L;
 
         when(taskRepository.findById(taskId))
                 .thenReturn(Optional.of(testTask));
-        when(modelMapper.map(testTask, TaskResponseDTO.class))
+        when(taskMapper.toResponse(testTask))
                 .thenReturn(taskResponseDTO);
 
-        TaskResponseDTO result = taskService.getTaskById(taskId);
+        Optional<TaskResponseDTO> result = taskService.findTaskById(taskId, 1L);
 
-        assertNotNull(result);
-        assertEquals(taskId, result.getId());
-        assertEquals("Test Task", result.getTitle());
-        assertNotNull(result.getUser());
-        assertEquals(1L, result.getUser().getId());
+        assertTrue(result.isPresent());
+        assertEquals(taskId, result.get().getId());
+        assertEquals("Test Task", result.get().getTitle());
+        assertNotNull(result.get().getUser());
+        assertEquals(1L, result.get().getUser().getId());
 
         verify(taskRepository, times(1)).findById(taskId);
     }
 
     @Test
-    @DisplayName("getTaskById should throw TaskNotFoundException when task not found")
-    void getTaskById_NotFound() {
-        Long taskId = 999L;
+    @DisplayName("findTaskById should not restrict the owner when no owner is given")
+    void findTaskById_AnyOwner() {
+        Long taskId = 1L;
 
         when(taskRepository.findById(taskId))
+                .thenReturn(Optional.of(testTask));
+        when(taskMapper.toResponse(testTask))
+                .thenReturn(taskResponseDTO);
+
+        Optional<TaskResponseDTO> result = taskService.findTaskById(taskId, null);
+
+        assertTrue(result.isPresent());
+    }
+
+    @Test
+    @DisplayName("findTaskById should return empty when task is missing or owned by someone else")
+    void findTaskById_NotOwned() {
+        when(taskRepository.findById(999L))
                 .thenReturn(Optional.empty());
+        when(taskRepository.findById(1L))
+                .thenReturn(Optional.of(testTask));
 
-        assertThrows(
-                TaskNotFoundException.class,
-                () -> taskService.getTaskById(taskId)
-        );
+        assertTrue(taskService.findTaskById(999L, 1L).isEmpty());
+        assertTrue(taskService.findTaskById(1L, 2L).isEmpty());
 
-        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskMapper, never()).toResponse(any(Task.class));
     }
 
     @Test
@@ -259,8 +335,8 @@ class TaskServiceTest {
     void getTaskOwnerId_Success() {
         Long taskId = 1L;
 
-        when(taskRepository.findById(taskId))
-                .thenReturn(Optional.of(testTask));
+        when(taskRepository.findOwnerIdById(taskId))
+                .thenReturn(Optional.of(1L));
 
         Long ownerId = taskService.getTaskOwnerId(taskId);
 
@@ -268,7 +344,7 @@ class TaskServiceTest {
         assertEquals(1L, ownerId);
         assertEquals(testUser.getId(), ownerId);
 
-        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, times(1)).findOwnerIdById(taskId);
     }
 
     @Test
@@ -276,7 +352,7 @@ class TaskServiceTest {
     void getTaskOwnerId_NotFound() {
         Long taskId = 999L;
 
-        when(taskRepository.findById(taskId))
+        when(taskRepository.findOwnerIdById(taskId))
                 .thenReturn(Optional.empty());
 
         assertThrows(
@@ -284,7 +360,7 @@ class TaskServiceTest {
                 () -> taskService.getTaskOwnerId(taskId)
         );
 
-        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, times(1)).findOwnerIdById(taskId);
     }
 
     @Test
@@ -306,64 +382,88 @@ class TaskServiceTest {
 
         when(taskRepository.findById(taskId))
                 .thenReturn(Optional.of(testTask));
-        when(taskRepository.save(any(Task.class)))
+        when(taskRepository.saveAndFlush(any(Task.class)))
                 .thenReturn(testTask);
-        when(modelMapper.map(testTask, TaskResponseDTO.class))
+        when(taskMapper.toResponse(testTask))
                 .thenReturn(updatedDTO);
 
-        TaskResponseDTO result = taskService.updateTask(taskId, updateDTO);
+        Optional<TaskResponseDTO> result = taskService.updateTask(taskId, 1L, updateDTO, null);
 
-        assertNotNull(result);
-        assertNotNull(result.getUser());
-        verify(taskRepository, times(1)).save(any(Task.class));
+        assertTrue(result.isPresent());
+        assertNotNull(result.get().getUser());
+        assertEquals("Updated Title", testTask.getTitle());
+        assertEquals(Status.DONE, testTask.getStatus());
+        verify(taskRepository, times(1)).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("updateTask should reject the update when If-Match does not carry the current ETag")
+    void updateTask_PreconditionFailed() {
+        Long taskId = 1L;
+        String currentTag = EntityTags.ofTask(taskId, testTask.getVersion(), testUser.getId(), testUser.getVersion());
+
+        when(taskRepository.findById(taskId))
+                .thenReturn(Optional.of(testTask));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> taskService.updateTask(taskId, 1L, taskRequestDTO, "\"stale\", W/" + currentTag));
+
+        assertEquals("Test Task", testTask.getTitle());
+        verify(taskRepository, never()).saveAndFlush(any());
     }
 
     @Test
-    @DisplayName("updateTask should throw TaskNotFoundException when task not found")
-    void updateTask_NotFound() {
+    @DisplayName("updateTask should return empty when task is missing or owned by someone else")
+    void updateTask_NotOwned() {
         Long taskId = 999L;
 
         when(taskRepository.findById(taskId))
                 .thenReturn(Optional.empty());
 
-        assertThrows(
-                TaskNotFoundException.class,
-                () -> taskService.updateTask(taskId, taskRequestDTO)
-        );
+        assertTrue(taskService.updateTask(taskId, 1L, taskRequestDTO, null).isEmpty());
 
         verify(taskRepository, times(1)).findById(taskId);
         verify(taskRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("deleteTask should delete task successfully")
+    @DisplayName("deleteTask should delete the owned task through the entity")
     void deleteTask_Success() {
         Long taskId = 1L;
 
         when(taskRepository.findById(taskId))
                 .thenReturn(Optional.of(testTask));
-        doNothing().when(taskRepository).delete(testTask);
 
-        taskService.deleteTask(taskId);
+        assertTrue(taskService.deleteTask(taskId, 1L));
 
-        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskTombstoneRepository, times(1)).recordDeletions(eq(List.of(taskId)), any());
         verify(taskRepository, times(1)).delete(testTask);
     }
 
     @Test
-    @DisplayName("deleteTask should throw TaskNotFoundException when task not found")
-    void deleteTask_NotFound() {
-        Long taskId = 999L;
+    @DisplayName("deleteTask should delete any task when no owner is given")
+    void deleteTask_AnyOwner() {
+        Long taskId = 1L;
 
         when(taskRepository.findById(taskId))
+                .thenReturn(Optional.of(testTask));
+
+        assertTrue(taskService.deleteTask(taskId, null));
+
+        verify(taskRepository, times(1)).delete(testTask);
+    }
+
+    @Test
+    @DisplayName("deleteTask should report nothing deleted when task is missing or owned by someone else")
+    void deleteTask_NotOwned() {
+        when(taskRepository.findById(999L))
                 .thenReturn(Optional.empty());
+        when(taskRepository.findById(1L))
+                .thenReturn(Optional.of(testTask));
 
-        assertThrows(
-                TaskNotFoundException.class,
-                () -> taskService.deleteTask(taskId)
-        );
+        assertFalse(taskService.deleteTask(999L, 1L));
+        assertFalse(taskService.deleteTask(1L, 2L));
 
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, never()).delete(any(Task.class));
+        verify(taskRepository, never()).delete(any());
     }
-}
\ No newline at end of file
+}
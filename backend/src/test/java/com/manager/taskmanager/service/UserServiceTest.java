@@ -4,9 +4,14 @@ import com.manager.taskmanager.dto.UserRequestDTO;
 import com.manager.taskmanager.dto.UserResponseDTO;
 import com.manager.taskmanager.exception.UserNotFoundException;
 import com.manager.taskmanager.exception.DuplicateResourceException;
+import com.manager.taskmanager.exception.PreconditionFailedException;
+import com.manager.taskmanager.mapper.UserMapper;
 import com.manager.taskmanager.model.Role;
 import com.manager.taskmanager.model.User;
+import com.manager.taskmanager.repository.RefreshTokenRepository;
+import com.manager.taskmanager.repository.TaskTombstoneRepository;
 import com.manager.taskmanager.repository.UserRepository;
+import com.manager.taskmanager.security.TokenRevocationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,7 +19,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -36,11 +40,23 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserMapper userMapper;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private TaskListingCache taskListingCache;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
     @InjectMocks
     private UserService userService;
 
@@ -80,13 +96,13 @@ class UserServiceTest {
                 .thenReturn(Optional.empty());
         when(userRepository.findByEmail(userRequestDTO.getEmail()))
                 .thenReturn(Optional.empty());
-        when(modelMapper.map(userRequestDTO, User.class))
+        when(userMapper.toEntity(userRequestDTO))
                 .thenReturn(testUser);
         when(passwordEncoder.encode(anyString()))
                 .thenReturn("encodedPassword");
         when(userRepository.save(any(User.class)))
                 .thenReturn(testUser);
-        when(modelMapper.map(testUser, UserResponseDTO.class))
+        when(userMapper.toResponse(testUser))
                 .thenReturn(userResponseDTO);
 
         UserResponseDTO result = userService.createUser(userRequestDTO);
@@ -155,9 +171,9 @@ class UserServiceTest {
                 .build();
 
         when(userRepository.findAll()).thenReturn(users);
-        when(modelMapper.map(testUser, UserResponseDTO.class))
+        when(userMapper.toResponse(testUser))
                 .thenReturn(userResponseDTO);
-        when(modelMapper.map(user2, UserResponseDTO.class))
+        when(userMapper.toResponse(user2))
                 .thenReturn(dto2);
 
         List<UserResponseDTO> result = userService.getAllUsers();
@@ -189,7 +205,7 @@ class UserServiceTest {
 
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(testUser));
-        when(modelMapper.map(testUser, UserResponseDTO.class))
+        when(userMapper.toResponse(testUser))
                 .thenReturn(userResponseDTO);
 
         UserResponseDTO result = userService.getUserById(userId);
@@ -238,18 +254,18 @@ class UserServiceTest {
                 .thenReturn(Optional.empty());
         when(passwordEncoder.encode("NewPassword123"))
                 .thenReturn("encodedNewPassword");
-        when(userRepository.save(any(User.class)))
+        when(userRepository.saveAndFlush(any(User.class)))
                 .thenReturn(testUser);
-        when(modelMapper.map(testUser, UserResponseDTO.class))
+        when(userMapper.toResponse(testUser))
                 .thenReturn(userResponseDTO);
 
-        UserResponseDTO result = userService.updateUser(userId, updateDTO);
+        UserResponseDTO result = userService.updateUser(userId, updateDTO, null);
 
         assertNotNull(result);
 
         verify(userRepository, times(1)).findById(userId);
         verify(passwordEncoder, times(1)).encode("NewPassword123");
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -267,16 +283,16 @@ class UserServiceTest {
                 .thenReturn(Optional.of(testUser));
         when(userRepository.findByUsername("updateduser"))
                 .thenReturn(Optional.empty());
-        when(userRepository.save(any(User.class)))
+        when(userRepository.saveAndFlush(any(User.class)))
                 .thenReturn(testUser);
-        when(modelMapper.map(testUser, UserResponseDTO.class))
+        when(userMapper.toResponse(testUser))
                 .thenReturn(userResponseDTO);
 
-        UserResponseDTO result = userService.updateUser(userId, updateDTO);
+        UserResponseDTO result = userService.updateUser(userId, updateDTO, null);
 
         assertNotNull(result);
 
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
         verify(passwordEncoder, never()).encode(anyString());
     }
 
@@ -293,14 +309,16 @@ class UserServiceTest {
                 .thenReturn(Optional.of(testUser));
         when(passwordEncoder.encode("NewPassword123"))
                 .thenReturn("encodedPassword123");
-        when(userRepository.save(any(User.class)))
+        when(userRepository.saveAndFlush(any(User.class)))
                 .thenReturn(testUser);
-        when(modelMapper.map(testUser, UserResponseDTO.class))
+        when(userMapper.toResponse(testUser))
                 .thenReturn(userResponseDTO);
 
-        userService.updateUser(userId, updateDTO);
+        userService.updateUser(userId, updateDTO, null);
 
         verify(passwordEncoder, times(1)).encode("NewPassword123");
+        verify(refreshTokenRepository, times(1)).deleteAllByUserId(userId);
+        verify(tokenRevocationRegistry, times(1)).revokeAllFor(userId);
     }
 
     @Test
@@ -325,12 +343,12 @@ class UserServiceTest {
 
         assertThrows(
                 DuplicateResourceException.class,
-                () -> userService.updateUser(userId, updateDTO),
+                () -> userService.updateUser(userId, updateDTO, null),
                 "Username already exists"
         );
 
         verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -355,12 +373,29 @@ class UserServiceTest {
 
         assertThrows(
                 DuplicateResourceException.class,
-                () -> userService.updateUser(userId, updateDTO),
+                () -> userService.updateUser(userId, updateDTO, null),
                 "Email already exists"
         );
 
         verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("updateUser should throw PreconditionFailedException when If-Match is stale")
+    void updateUser_StaleIfMatch() {
+        Long userId = 1L;
+        testUser.setVersion(3L);
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(testUser));
+
+        assertThrows(
+                PreconditionFailedException.class,
+                () -> userService.updateUser(userId, userRequestDTO, EntityTags.ofUser(userId, 2L))
+        );
+
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -373,13 +408,13 @@ class UserServiceTest {
 
         UserNotFoundException exception = assertThrows(
                 UserNotFoundException.class,
-                () -> userService.updateUser(userId, userRequestDTO)
+                () -> userService.updateUser(userId, userRequestDTO, null)
         );
 
         assertEquals("User not found with id: 999", exception.getMessage());
 
         verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -395,6 +430,9 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).findById(userId);
         verify(userRepository, times(1)).delete(testUser);
+        verify(taskTombstoneRepository, times(1)).deleteAllByUserId(userId);
+        verify(refreshTokenRepository, times(1)).deleteAllByUserId(userId);
+        verify(tokenRevocationRegistry, times(1)).revokeAllFor(userId);
     }
 
     @Test
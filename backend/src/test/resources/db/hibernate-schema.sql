@@ -0,0 +1,23 @@
+-- Schema as hibernate.ddl-auto created it before the migrations existed, with its generated constraint names
+-- and without the listing indexes. Flyway baselines such a database at V1 instead of running V1 on it.
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_r43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT uk_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    status      VARCHAR(255)  NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6),
+    user_id     BIGINT CONSTRAINT fk6s1ob9k4ihi75xbxe2w0ylsdh REFERENCES users (id)
+);
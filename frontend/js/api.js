@@ -4,9 +4,10 @@ const API_BASE_URL = 'http://localhost:8080/api';
 class APIClient {
     constructor(baseURL) {
         this.baseURL = baseURL;
+        this.pendingRefresh = null;
     }
 
-    async request(endpoint, options = {}) {
+    async request(endpoint, options = {}, retried = false) {
         const url = `${this.baseURL}${endpoint}`;
 
         const config = {
@@ -25,6 +26,13 @@ class APIClient {
 
         try {
             const response = await fetch(url, config);
+
+            // Access tokens are short-lived; renew once and repeat the request
+            if (response.status === 401 && !retried && !endpoint.startsWith('/auth/')
+                    && await this.refreshToken()) {
+                return this.request(endpoint, options, true);
+            }
+
             const data = await response.json();
 
             if (!response.ok) {
@@ -42,6 +50,36 @@ class APIClient {
         }
     }
 
+    async refreshToken() {
+        const refreshToken = storage.get('refreshToken');
+        if (!refreshToken) {
+            return false;
+        }
+
+        // Concurrent requests share one refresh, as each refresh token is only accepted once
+        if (!this.pendingRefresh) {
+            this.pendingRefresh = fetch(`${this.baseURL}/auth/refresh`, {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ refreshToken })
+            })
+                .then(async (response) => {
+                    if (!response.ok) {
+                        return false;
+                    }
+                    const data = await response.json();
+                    storage.set('token', data.token);
+                    storage.set('refreshToken', data.refreshToken);
+                    return true;
+                })
+                .catch(() => false)
+                .finally(() => {
+                    this.pendingRefresh = null;
+                });
+        }
+        return this.pendingRefresh;
+    }
+
     get(endpoint) {
         return this.request(endpoint, { method: 'GET' });
     }
@@ -83,7 +121,8 @@ const userAPI = {
 
 // ==================== TASK API ====================
 const taskAPI = {
-    getAllTasks: () => api.get('/tasks'),
+    // One page of {items, next}; pass the previous page's next cursor for the following one
+    getAllTasks: (cursor = null) => api.get(cursor ? `/tasks?cursor=${encodeURIComponent(cursor)}` : '/tasks'),
     getTaskById: (id) => api.get(`/tasks/${id}`),
     getUserTasks: (userId) => api.get(`/tasks/user/${userId}`),
     createTask: (data) => api.post('/tasks', data),
@@ -21,6 +21,7 @@ if (loginForm) {
 
             // Save token and user info
             storage.set('token', response.token);
+            storage.set('refreshToken', response.refreshToken);
             storage.set('user', {
                 username: response.username,
                 role: response.role
@@ -72,6 +73,7 @@ if (registerForm) {
 
             // Save token and user info
             storage.set('token', response.token);
+            storage.set('refreshToken', response.refreshToken);
             storage.set('user', {
                 username: response.username,
                 role: response.role
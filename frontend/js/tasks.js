@@ -3,6 +3,8 @@ redirectIfNotAuthenticated();
 
 let currentTasks = [];
 let currentFilter = 'all';
+// Cursor of the next page of tasks, null once the last page is loaded
+let nextCursor = null;
 
 // ==================== LOAD USER INFO ====================
 function loadUserInfo() {
@@ -31,16 +33,43 @@ function toggleSidebar() {
 // ==================== LOAD TASKS ====================
 async function loadTasks() {
     try {
-        const tasks = await taskAPI.getAllTasks();
-        currentTasks = tasks;
-        updateStats(tasks);
-        displayTasks(tasks);
+        const page = await taskAPI.getAllTasks();
+        currentTasks = page.items;
+        nextCursor = page.next;
+        showLoadedTasks();
     } catch (error) {
         console.error('Error loading tasks:', error);
         showNotification('Error loading tasks', 'error');
     }
 }
 
+// Further pages are only fetched on request, so the listing never has to be read as a whole
+async function loadMoreTasks() {
+    if (!nextCursor) {
+        return;
+    }
+    const loadMoreBtn = document.getElementById('loadMoreBtn');
+    setButtonLoading(loadMoreBtn, true);
+
+    try {
+        const page = await taskAPI.getAllTasks(nextCursor);
+        currentTasks = currentTasks.concat(page.items);
+        nextCursor = page.next;
+        showLoadedTasks();
+    } catch (error) {
+        console.error('Error loading more tasks:', error);
+        showNotification('Error loading tasks', 'error');
+    } finally {
+        setButtonLoading(loadMoreBtn, false);
+    }
+}
+
+function showLoadedTasks() {
+    updateStats(currentTasks);
+    applyFilter();
+    document.getElementById('loadMore').style.display = nextCursor ? 'block' : 'none';
+}
+
 // ==================== UPDATE STATS ====================
 function updateStats(tasks) {
     const total = tasks.length;